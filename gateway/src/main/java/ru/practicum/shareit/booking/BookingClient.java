@@ -1,59 +1,24 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
-import ru.practicum.shareit.booking.dto.BookingState;
-import ru.practicum.shareit.common.BaseClient;
-
-import java.util.Map;
-
-@Service
-public class BookingClient extends BaseClient {
-    private static final String API_PREFIX = "/bookings";
-
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
-    }
-
-    public ResponseEntity<Object> getByBookerId(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
-    }
-
-
-    public ResponseEntity<Object> add(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
-    }
-
-    public ResponseEntity<Object> getByBookingId(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
-    }
-
-    public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
-        return patch("/{bookingId}?approved={approved}",
-                userId,
-                Map.of("bookingId", bookingId, "approved", approved), null);
-    }
-
-    public ResponseEntity<Object> getByOwnerId(long ownerId, BookingState state, Integer from, Integer size) {
-        return get("/owner?state={state}&from={from}&size={size}",
-                ownerId,
-                Map.of("state", state, "from", from, "size", size));
-    }
+import ru.practicum.shareit.booking.dto.BookingFilterDto;
+
+public interface BookingClient {
+
+    ResponseEntity<Object> getByBookerId(long userId, BookingFilterDto filter, Integer from, Integer size,
+                                         String cursor);
+
+    ResponseEntity<Object> add(long userId, BookItemRequestDto requestDto);
+
+    ResponseEntity<Object> getByBookingId(long userId, Long bookingId);
+
+    ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved);
+
+    ResponseEntity<Object> getByOwnerId(long ownerId, BookingFilterDto filter, Integer from, Integer size,
+                                        String cursor);
+
+    ResponseEntity<Object> getBookerSummary(long userId);
+
+    ResponseEntity<Object> getOwnerSummary(long ownerId);
 }
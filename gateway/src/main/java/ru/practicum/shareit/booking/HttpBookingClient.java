@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingFilterDto;
+import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!" + InProcessClient.PROFILE)
+public class HttpBookingClient extends BaseClient implements BookingClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public HttpBookingClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareItServerRequestFactory) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                properties.isPassThrough()
+        );
+    }
+
+    @Override
+    public ResponseEntity<Object> getByBookerId(long userId, BookingFilterDto filter, Integer from, Integer size,
+                                                String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get("?" + filter.toQuery(from, size, cursor, parameters), userId, parameters);
+    }
+
+    @Override
+    public ResponseEntity<Object> add(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> getByBookingId(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
+        return patch("/{bookingId}?approved={approved}",
+                userId,
+                Map.of("bookingId", bookingId, "approved", approved), null);
+    }
+
+    @Override
+    public ResponseEntity<Object> getByOwnerId(long ownerId, BookingFilterDto filter, Integer from, Integer size,
+                                               String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get("/owner?" + filter.toQuery(from, size, cursor, parameters), ownerId, parameters);
+    }
+
+    @Override
+    public ResponseEntity<Object> getBookerSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> getOwnerSummary(long ownerId) {
+        return get("/owner/summary", ownerId);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingFromRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingFilterDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.InProcessClient;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile(InProcessClient.PROFILE)
+@RequiredArgsConstructor
+public class InProcessBookingClient extends InProcessClient implements BookingClient {
+
+    private final BookingService bookingService;
+    private final BookingMapper bookingMapper;
+
+    @Override
+    public ResponseEntity<Object> getByBookerId(long userId, BookingFilterDto filter, Integer from, Integer size,
+                                                String cursor) {
+        return exchange(() -> {
+            BookingFilter bookingFilter = toBookingFilter(filter);
+            if (cursor == null && from > 0) {
+                return ResponseEntity.ok(bookingService.getByBookerId(bookingFilter, userId, from, size));
+            }
+            return withNextCursor(bookingService.getByBookerId(bookingFilter, userId, decode(cursor), size), size);
+        });
+    }
+
+    @Override
+    public ResponseEntity<Object> add(long userId, BookItemRequestDto requestDto) {
+        BookingFromRequest bookingFromRequest = BookingFromRequest.builder()
+                .itemId(requestDto.getItemId())
+                .start(requestDto.getStart())
+                .end(requestDto.getEnd())
+                .build();
+        return call(() -> bookingService.add(bookingMapper.toBooking(bookingFromRequest), userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getByBookingId(long userId, Long bookingId) {
+        return call(() -> bookingService.getByBookingId(bookingId, userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
+        return call(() -> bookingService.approve(bookingId, approved, userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getByOwnerId(long ownerId, BookingFilterDto filter, Integer from, Integer size,
+                                               String cursor) {
+        return exchange(() -> {
+            BookingFilter bookingFilter = toBookingFilter(filter);
+            if (cursor == null && from > 0) {
+                return ResponseEntity.ok(bookingService.getByOwnerId(bookingFilter, ownerId, from, size));
+            }
+            return withNextCursor(bookingService.getByOwnerId(bookingFilter, ownerId, decode(cursor), size), size);
+        });
+    }
+
+    @Override
+    public ResponseEntity<Object> getBookerSummary(long userId) {
+        return call(() -> bookingService.getSummary(BookingRole.BOOKER, userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getOwnerSummary(long ownerId) {
+        return call(() -> bookingService.getSummary(BookingRole.OWNER, ownerId));
+    }
+
+    private static BookingFilter toBookingFilter(BookingFilterDto filter) {
+        return BookingFilter.builder()
+                .state(StateFilter.parseString(filter.getState().name()))
+                .itemId(filter.getItemId())
+                .statuses(filter.getStatuses().stream()
+                        .map(status -> BookingStatus.valueOf(status.name()))
+                        .collect(Collectors.toSet()))
+                .rangeStart(filter.getRangeStart())
+                .rangeEnd(filter.getRangeEnd())
+                .build();
+    }
+
+    private static BookingCursor decode(String cursor) {
+        return cursor == null ? null : BookingCursor.decode(cursor);
+    }
+
+    private static ResponseEntity<Object> withNextCursor(List<BookingResponse> bookings, int size) {
+        BookingCursor next = BookingCursor.after(bookings, size);
+        if (next == null) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        return ResponseEntity.ok()
+                .header(BookingCursor.NEXT_CURSOR_HEADER, next.encode())
+                .body(bookings);
+    }
+}
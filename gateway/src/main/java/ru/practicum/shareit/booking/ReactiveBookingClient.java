@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingFilterDto;
+import ru.practicum.shareit.common.ReactiveBaseClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(ShareItServerProperties properties, WebClient.Builder builder,
+                                 ClientHttpConnector shareItServerConnector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByBookerId(long userId, BookingFilterDto filter, Integer from,
+                                                      Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get("?" + filter.toQuery(from, size, cursor, parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> add(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByBookingId(long userId, Long bookingId) {
+        return get("/{bookingId}", userId, Map.of("bookingId", bookingId));
+    }
+
+    public Mono<ResponseEntity<byte[]>> approve(long userId, Long bookingId, Boolean approved) {
+        return patch("/{bookingId}?approved={approved}",
+                userId,
+                Map.of("bookingId", bookingId, "approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByOwnerId(long ownerId, BookingFilterDto filter, Integer from,
+                                                     Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get("/owner?" + filter.toQuery(from, size, cursor, parameters), ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookerSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getOwnerSummary(long ownerId) {
+        return get("/owner/summary", ownerId);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingFilterDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> add(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @Valid BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return bookingClient.add(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> approve(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @PathVariable Long bookingId,
+                                                @RequestParam(name = "approved") Boolean approved) {
+        log.info("Approving (={}) booking id{} by userId={}", approved, bookingId, userId);
+        return bookingClient.approve(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> getByBookingId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PathVariable Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getByBookingId(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getByBookerId(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @Positive @RequestParam(name = "itemId", required = false) Long itemId,
+            @RequestParam(name = "statuses", required = false) List<String> statuses,
+            @RequestParam(name = "rangeStart", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeStart,
+            @RequestParam(name = "rangeEnd", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeEnd,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingFilterDto filter = BookingFilterDto.of(stateParam, itemId, statuses, rangeStart, rangeEnd);
+        log.info("Get booking with {}, userId={}, from={}, size={}, cursor={}", filter, userId, from, size, cursor);
+        return bookingClient.getByBookerId(userId, filter, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<byte[]>> getByOwnerId(
+            @RequestHeader("X-Sharer-User-Id") long ownerId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @Positive @RequestParam(name = "itemId", required = false) Long itemId,
+            @RequestParam(name = "statuses", required = false) List<String> statuses,
+            @RequestParam(name = "rangeStart", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeStart,
+            @RequestParam(name = "rangeEnd", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeEnd,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingFilterDto filter = BookingFilterDto.of(stateParam, itemId, statuses, rangeStart, rangeEnd);
+        log.info("Get booking with {}, ownerId={}, from={}, size={}, cursor={}", filter, ownerId, from, size, cursor);
+        return bookingClient.getByOwnerId(ownerId, filter, from, size, cursor);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<byte[]>> getBookerSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get booking summary, userId={}", userId);
+        return bookingClient.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<byte[]>> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Get booking summary, ownerId={}", ownerId);
+        return bookingClient.getOwnerSummary(ownerId);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Условия списка бронирований из параметров запроса. На сервер уходят только заданные условия,
+ * поэтому запросы без новых фильтров не меняют вид и ключ кеша.
+ */
+@Value
+public class BookingFilterDto {
+
+	BookingState state;
+
+	@Nullable
+	Long itemId;
+
+	Set<BookingStatus> statuses;
+
+	@Nullable
+	LocalDateTime rangeStart;
+
+	@Nullable
+	LocalDateTime rangeEnd;
+
+	public static BookingFilterDto of(String stateParam, @Nullable Long itemId, @Nullable List<String> statusParams,
+			@Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		Set<BookingStatus> statuses = EnumSet.noneOf(BookingStatus.class);
+		if (statusParams != null) {
+			for (String statusParam : statusParams) {
+				statuses.add(BookingStatus.from(statusParam)
+						.orElseThrow(() -> new IllegalArgumentException("Unknown status: " + statusParam)));
+			}
+		}
+		if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
+			throw new IllegalArgumentException("Начало периода должно быть не позже его окончания.");
+		}
+		return new BookingFilterDto(state, itemId, statuses, rangeStart, rangeEnd);
+	}
+
+	/**
+	 * Параметры запроса к серверу в виде шаблона URI; значения добавляются в parameters.
+	 * С курсором from не передаётся: страницу определяет курсор.
+	 */
+	public String toQuery(Integer from, Integer size, @Nullable String cursor, Map<String, Object> parameters) {
+		StringBuilder query = new StringBuilder("state={state}");
+		parameters.put("state", state.name());
+		if (itemId != null) {
+			query.append("&itemId={itemId}");
+			parameters.put("itemId", itemId);
+		}
+		if (!statuses.isEmpty()) {
+			query.append("&statuses={statuses}");
+			parameters.put("statuses", statuses.stream().map(Enum::name).collect(Collectors.joining(",")));
+		}
+		if (rangeStart != null) {
+			query.append("&rangeStart={rangeStart}");
+			parameters.put("rangeStart", rangeStart);
+		}
+		if (rangeEnd != null) {
+			query.append("&rangeEnd={rangeEnd}");
+			parameters.put("rangeEnd", rangeEnd);
+		}
+		if (cursor != null) {
+			query.append("&size={size}&cursor={cursor}");
+			parameters.put("cursor", cursor);
+		} else {
+			query.append("&from={from}&size={size}");
+			parameters.put("from", from);
+		}
+		parameters.put("size", size);
+		return query.toString();
+	}
+}
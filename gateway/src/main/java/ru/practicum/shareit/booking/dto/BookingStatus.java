@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.Optional;
+
+public enum BookingStatus {
+	// Ожидает подтверждения
+	WAITING,
+	// Подтверждено владельцем
+	APPROVED,
+	// Отклонено владельцем
+	REJECTED;
+
+	public static Optional<BookingStatus> from(String stringStatus) {
+		for (BookingStatus status : values()) {
+			if (status.name().equalsIgnoreCase(stringStatus)) {
+				return Optional.of(status);
+			}
+		}
+		return Optional.empty();
+	}
+}
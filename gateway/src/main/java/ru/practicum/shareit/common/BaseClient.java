@@ -9,10 +9,18 @@ import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+
     protected final RestTemplate rest;
 
+    private final boolean passThrough;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough) {
         this.rest = rest;
+        this.passThrough = passThrough;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -77,6 +85,9 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (passThrough) {
+            return passThrough(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -91,6 +102,26 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> passThrough(HttpMethod method, String path,
+                                                   @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(ProxyHeaders.endToEnd(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(ProxyHeaders.endToEnd(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.common;
+
+import lombok.Getter;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Прочитанный целиком ответ сервера, который можно отдать нескольким вызывающим.
+ */
+@Getter
+public class BufferedResponse {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final int status;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    public BufferedResponse(int status, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(ProxyHeaders.endToEnd(headers));
+        this.body = body;
+    }
+
+    public static BufferedResponse of(ClientHttpResponse response) throws IOException {
+        try (ClientHttpResponse closing = response) {
+            return new BufferedResponse(closing.getRawStatusCode(), closing.getHeaders(),
+                    StreamUtils.copyToByteArray(closing.getBody()));
+        }
+    }
+
+    public static Mono<BufferedResponse> of(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(EMPTY_BODY)
+                .map(body -> new BufferedResponse(response.rawStatusCode(), response.headers().asHttpHeaders(), body));
+    }
+
+    public ClientHttpResponse toClientHttpResponse() {
+        return new BufferedClientHttpResponse();
+    }
+
+    public ClientResponse toClientResponse() {
+        return ClientResponse.create(status, ExchangeStrategies.withDefaults())
+                .headers(responseHeaders -> responseHeaders.addAll(headers))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                .build();
+    }
+
+    private class BufferedClientHttpResponse implements ClientHttpResponse {
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(status);
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus resolved = HttpStatus.resolve(status);
+            return resolved != null ? resolved.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
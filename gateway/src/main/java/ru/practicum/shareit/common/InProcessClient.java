@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.exception.NoSuchStateException;
+import ru.practicum.shareit.handler.ErrorResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Клиент профиля {@value #PROFILE}: шлюз и сервер работают в одном процессе, и клиент вызывает сервисы сервера
+ * напрямую, без HTTP и двойной сериализации JSON. Исключения сервисов превращаются в те же ответы,
+ * что отдаёт ErrorHandler сервера, поэтому контроллеры шлюза не отличают этот клиент от HTTP-клиента.
+ */
+@Slf4j
+public abstract class InProcessClient {
+
+    public static final String PROFILE = "in-process";
+
+    protected ResponseEntity<Object> call(Supplier<?> call) {
+        return exchange(() -> ResponseEntity.ok(call.get()));
+    }
+
+    protected ResponseEntity<Object> exchange(Supplier<ResponseEntity<Object>> call) {
+        try {
+            return call.get();
+        } catch (EntityNotFoundException | ForbiddenAccessToEntityException e) {
+            return error(HttpStatus.NOT_FOUND, e);
+        } catch (BookingException | NoSuchStateException e) {
+            return error(HttpStatus.BAD_REQUEST, e);
+        } catch (DataIntegrityViolationException e) {
+            return error(HttpStatus.CONFLICT, e);
+        }
+    }
+
+    private static ResponseEntity<Object> error(HttpStatus status, RuntimeException e) {
+        log.info(e.getMessage());
+
+        return ResponseEntity.status(status).body(new ErrorResponse(e.getMessage()));
+    }
+}
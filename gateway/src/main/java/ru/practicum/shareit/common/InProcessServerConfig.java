@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * То, что сервер получает от ShareItApp, который в контекст шлюза не попадает.
+ */
+@Configuration
+@Profile(InProcessClient.PROFILE)
+@EnableScheduling
+public class InProcessServerConfig {
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.common;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@UtilityClass
+public class ProxyHeaders {
+
+    /**
+     * Заголовки, которые относятся к соединению шлюза с сервером и не должны уходить клиенту (RFC 7230, 6.1).
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE));
+    }
+
+    public static HttpHeaders endToEnd(@Nullable HttpHeaders headers) {
+        HttpHeaders endToEnd = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name)) {
+                    endToEnd.addAll(name, values);
+                }
+            });
+        }
+        return endToEnd;
+    }
+}
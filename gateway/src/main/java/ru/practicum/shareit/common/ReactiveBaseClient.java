@@ -0,0 +1,89 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог {@link BaseClient} в режиме pass-through: тело и заголовки ответа сервера
+ * передаются клиенту как есть, поток не занят на время запроса к серверу.
+ */
+public class ReactiveBaseClient {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                    T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(EMPTY_BODY)
+                .map(responseBody -> ResponseEntity.status(response.rawStatusCode())
+                        .headers(ProxyHeaders.endToEnd(response.headers().asHttpHeaders()))
+                        .body(responseBody)));
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+}
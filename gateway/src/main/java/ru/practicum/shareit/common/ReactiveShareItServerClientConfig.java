@@ -0,0 +1,81 @@
+package ru.practicum.shareit.common;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.common.balancer.BalancingFilter;
+import ru.practicum.shareit.common.balancer.ServerBalancer;
+import ru.practicum.shareit.common.breaker.CircuitBreakerFilter;
+import ru.practicum.shareit.common.breaker.ServerCircuitBreakers;
+import ru.practicum.shareit.common.cache.GatewayResponseCache;
+import ru.practicum.shareit.common.cache.ResponseCacheFilter;
+import ru.practicum.shareit.common.coalescing.CoalescingFilter;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.hedging.HedgingFilter;
+import ru.practicum.shareit.common.hedging.RequestHedger;
+import ru.practicum.shareit.common.limit.AdaptiveConcurrencyLimiter;
+import ru.practicum.shareit.common.limit.AdaptiveLimitFilter;
+
+/**
+ * Реактивный режим шлюза (spring.main.web-application-type=reactive): Netty вместо Tomcat
+ * и один пул соединений с сервером на все {@link ReactiveBaseClient}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveShareItServerClientConfig {
+
+    /**
+     * Tomcat тоже есть в classpath и иначе был бы выбран первым.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getKeepAlive())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ShareItServerProperties properties,
+                                                      ConnectionProvider shareItServerConnectionProvider) {
+        return new ReactorClientHttpConnector(HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout()));
+    }
+
+    /**
+     * Порядок как у {@link ShareItServerClientConfig#shareItServerInterceptors}.
+     */
+    @Bean
+    public WebClientCustomizer shareItServerFilters(ObjectProvider<GatewayResponseCache> responseCache,
+                                                    ObjectProvider<RequestCoalescer> requestCoalescer,
+                                                    ObjectProvider<ServerCircuitBreakers> circuitBreakers,
+                                                    ObjectProvider<RequestHedger> requestHedger,
+                                                    ObjectProvider<AdaptiveConcurrencyLimiter> adaptiveLimiter,
+                                                    ObjectProvider<ServerBalancer> serverBalancer) {
+        return webClient -> {
+            responseCache.ifAvailable(cache -> webClient.filter(new ResponseCacheFilter(cache)));
+            requestCoalescer.ifAvailable(coalescer -> webClient.filter(new CoalescingFilter(coalescer)));
+            circuitBreakers.ifAvailable(breakers -> webClient.filter(new CircuitBreakerFilter(breakers)));
+            requestHedger.ifAvailable(hedger -> webClient.filter(new HedgingFilter(hedger)));
+            adaptiveLimiter.ifAvailable(limiter -> webClient.filter(new AdaptiveLimitFilter(limiter)));
+            serverBalancer.ifAvailable(balancer -> webClient.filter(new BalancingFilter(balancer)));
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Не пускает в контекст шлюза классы из jar сервера, который лежит в classpath. В профиле
+ * {@value InProcessClient#PROFILE} берутся сервисы, репозитории и мапперы сервера, но не его веб-слой:
+ * контроллеры сервера повторяют полные имена контроллеров шлюза, а ErrorHandler перехватывал бы ошибки шлюза.
+ */
+public class ServerClassFilter implements TypeFilter, EnvironmentAware {
+
+    private static final String GATEWAY_CLASSES = gatewayClasses();
+
+    private boolean inProcess;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        inProcess = environment.acceptsProfiles(Profiles.of(InProcessClient.PROFILE));
+    }
+
+    @Override
+    public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+            throws IOException {
+        if (metadataReader.getResource().getURL().toExternalForm().startsWith(GATEWAY_CLASSES)) {
+            return false;
+        }
+        if (!inProcess) {
+            return true;
+        }
+        AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+        return metadata.isAnnotated(SpringBootConfiguration.class.getName())
+                || metadata.isAnnotated(Controller.class.getName())
+                || metadata.isAnnotated(ControllerAdvice.class.getName());
+    }
+
+    /**
+     * Корень, из которого загружены классы шлюза: каталог target/classes или BOOT-INF/classes в jar.
+     */
+    private static String gatewayClasses() {
+        String classFile = ClassUtils.convertClassNameToResourcePath(ServerClassFilter.class.getName())
+                + ClassUtils.CLASS_FILE_SUFFIX;
+        String url = ServerClassFilter.class.getClassLoader().getResource(classFile).toExternalForm();
+        return url.substring(0, url.length() - classFile.length());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Раздел API и id ресурса в URI запроса к серверу: /items/5/comment - это ("/items", "5"),
+ * /items/search и /items - ("/items", null). Раздел совпадает с API_PREFIX клиента, который его вызывает.
+ * Маршрут - путь с числовыми сегментами, заменёнными на {id}: /items/5/comment - это /items/{id}/comment.
+ */
+@Value
+public class ServerPath {
+
+    String section;
+
+    @Nullable
+    String id;
+
+    String route;
+
+    /**
+     * @return null, если URI не ведёт на сервер
+     */
+    @Nullable
+    public static ServerPath of(URI uri, String serverUrl) {
+        String url = uri.normalize().toString();
+        if (!url.startsWith(serverUrl)) {
+            return null;
+        }
+        String path = URI.create(url.substring(serverUrl.length())).getRawPath();
+        String[] segments = path.replaceFirst("^/", "").split("/");
+        if (segments[0].isEmpty()) {
+            return null;
+        }
+        String id = segments.length > 1 && segments[1].chars().allMatch(Character::isDigit) ? segments[1] : null;
+        String route = Arrays.stream(segments)
+                .map(segment -> !segment.isEmpty() && segment.chars().allMatch(Character::isDigit) ? "{id}" : segment)
+                .collect(Collectors.joining("/", "/", ""));
+        return new ServerPath("/" + segments[0], id, route);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.common;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.common.balancer.BalancingInterceptor;
+import ru.practicum.shareit.common.balancer.ServerBalancer;
+import ru.practicum.shareit.common.breaker.CircuitBreakerInterceptor;
+import ru.practicum.shareit.common.breaker.ServerCircuitBreakers;
+import ru.practicum.shareit.common.cache.GatewayResponseCache;
+import ru.practicum.shareit.common.coalescing.CoalescingInterceptor;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.hedging.HedgingInterceptor;
+import ru.practicum.shareit.common.hedging.RequestHedger;
+import ru.practicum.shareit.common.limit.AdaptiveConcurrencyLimiter;
+import ru.practicum.shareit.common.limit.AdaptiveLimitInterceptor;
+import ru.practicum.shareit.common.cache.ResponseCacheInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один пул соединений с сервером на все клиенты шлюза: все запросы идут на один хост,
+ * поэтому лимит на маршрут равен общему лимиту пула.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!" + InProcessClient.PROFILE)
+public class ShareItServerClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(ShareItServerProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnections());
+        connectionManager.setValidateAfterInactivity(1_000);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(ShareItServerProperties properties,
+                                                      PoolingHttpClientConnectionManager connectionManager) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .evictExpiredConnections()
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                        .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    /**
+     * Порядок важен: сначала кеш, промах по кешу склеивается с такими же запросами,
+     * и только запрос, который действительно уходит на сервер, проходит предохранитель и занимает место
+     * в адаптивном пределе; экземпляр сервера выбирается последним. Повтор медленного запроса заново проходит
+     * предел и выбор экземпляра, а предохранитель видит один итоговый ответ.
+     */
+    @Bean
+    public RestTemplateCustomizer shareItServerInterceptors(ObjectProvider<GatewayResponseCache> responseCache,
+                                                            ObjectProvider<RequestCoalescer> requestCoalescer,
+                                                            ObjectProvider<ServerCircuitBreakers> circuitBreakers,
+                                                            ObjectProvider<RequestHedger> requestHedger,
+                                                            ObjectProvider<AdaptiveConcurrencyLimiter> adaptiveLimiter,
+                                                            ObjectProvider<ServerBalancer> serverBalancer) {
+        return restTemplate -> {
+            responseCache.ifAvailable(cache ->
+                    restTemplate.getInterceptors().add(new ResponseCacheInterceptor(cache)));
+            requestCoalescer.ifAvailable(coalescer ->
+                    restTemplate.getInterceptors().add(new CoalescingInterceptor(coalescer)));
+            circuitBreakers.ifAvailable(breakers ->
+                    restTemplate.getInterceptors().add(new CircuitBreakerInterceptor(breakers)));
+
+            List<ClientHttpRequestInterceptor> attempt = new ArrayList<>();
+            adaptiveLimiter.ifAvailable(limiter -> attempt.add(new AdaptiveLimitInterceptor(limiter)));
+            serverBalancer.ifAvailable(balancer -> attempt.add(new BalancingInterceptor(balancer)));
+            RequestHedger hedger = requestHedger.getIfAvailable();
+            if (hedger != null) {
+                restTemplate.getInterceptors().add(new HedgingInterceptor(hedger, attempt));
+            } else {
+                restTemplate.getInterceptors().addAll(attempt);
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+
+    /**
+     * Адрес сервера, с которым работают клиенты, кеш и лимиты шлюза.
+     */
+    private String url;
+
+    /**
+     * Экземпляры сервера: если заданы, запросы на url распределяются между ними.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Единственный экземпляр из urls, принимающий запросы, которые меняют данные, и запросы на writer-paths.
+     * Проверка пересечений бронирований, удержания и блокировки вещей живут в памяти экземпляра сервера,
+     * поэтому остальные экземпляры только читают и запускаются с shareit.booking.expiry.enabled=false.
+     * Обязателен, если заданы urls.
+     */
+    private String writerUrl;
+
+    /**
+     * GET-запросы, ответ на которые зависит от состояния бронирований в памяти экземпляра: они тоже идут
+     * на writer-url. Шаблоны в синтаксисе {@link org.springframework.web.util.pattern.PathPattern}.
+     */
+    private List<String> writerPaths = new ArrayList<>(List.of("/items/*/availability", "/items/search",
+            "/bookings/summary", "/bookings/owner/summary"));
+
+    /**
+     * Сколько ошибок подряд (нет ответа или 5xx) исключают экземпляр до успешной проверки здоровья.
+     */
+    private int ejectAfterErrors = 5;
+
+    private HealthCheck healthCheck = new HealthCheck();
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Сколько ждать свободное соединение из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    private int maxConnections = 200;
+
+    /**
+     * Сколько держать простаивающее соединение, если сервер не прислал Keep-Alive: timeout.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Отдавать клиенту тело и заголовки ответа сервера как есть, без разбора JSON в шлюзе.
+     */
+    private boolean passThrough = true;
+
+    @Getter
+    @Setter
+    public static class HealthCheck {
+
+        private String path = "/actuator/health";
+
+        private Duration interval = Duration.ofSeconds(5);
+
+        private Duration timeout = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common.balancer;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Общий выбор экземпляров для нескольких попыток одного запроса: следующая попытка идёт на другой экземпляр,
+ * если он есть. Клиентам на WebClient передаётся атрибутом запроса {@link #ATTRIBUTE}, клиентам на RestTemplate -
+ * через поток, в котором выполняется попытка.
+ */
+public class AttemptRouting {
+
+    public static final String ATTRIBUTE = AttemptRouting.class.getName();
+
+    private static final ThreadLocal<AttemptRouting> CURRENT = new ThreadLocal<>();
+
+    private volatile ServerEndpoint previous;
+
+    @Nullable
+    public static AttemptRouting current() {
+        return CURRENT.get();
+    }
+
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    @Nullable
+    ServerEndpoint getPrevious() {
+        return previous;
+    }
+
+    void setPrevious(ServerEndpoint previous) {
+        this.previous = previous;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.common.balancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ServerBalancer} для клиентов на WebClient.
+ */
+@RequiredArgsConstructor
+public class BalancingFilter implements ExchangeFilterFunction {
+
+    private final ServerBalancer balancer;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerEndpoint endpoint = balancer.choose(request.url(), request.method(),
+                    (AttemptRouting) request.attribute(AttemptRouting.ATTRIBUTE).orElse(null));
+            if (endpoint == null) {
+                return next.exchange(request);
+            }
+
+            AtomicBoolean released = new AtomicBoolean();
+            ClientRequest routed = ClientRequest.from(request)
+                    .url(balancer.resolve(request.url(), endpoint))
+                    .build();
+            return next.exchange(routed)
+                    .doOnNext(response -> {
+                        if (released.compareAndSet(false, true)) {
+                            balancer.release(endpoint, ServerBalancer.isFailure(response.rawStatusCode()));
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (released.compareAndSet(false, true)) {
+                            balancer.release(endpoint, true);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (released.compareAndSet(false, true)) {
+                            balancer.cancel(endpoint);
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common.balancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * {@link ServerBalancer} для клиентов на RestTemplate.
+ */
+@RequiredArgsConstructor
+public class BalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ServerBalancer balancer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerEndpoint endpoint = balancer.choose(request.getURI(), request.getMethod(), AttemptRouting.current());
+        if (endpoint == null) {
+            return execution.execute(request, body);
+        }
+
+        URI uri = balancer.resolve(request.getURI(), endpoint);
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+            }, body);
+        } catch (IOException | RuntimeException e) {
+            balancer.release(endpoint, true);
+            throw e;
+        }
+        balancer.release(endpoint, ServerBalancer.isFailure(response.getRawStatusCode()));
+        return response;
+    }
+}
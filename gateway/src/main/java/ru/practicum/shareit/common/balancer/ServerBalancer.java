@@ -0,0 +1,278 @@
+package ru.practicum.shareit.common.balancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Распределяет запросы на shareit-server.url между экземплярами из shareit-server.urls: из двух случайных
+ * исправных экземпляров выбирается тот, у которого меньше запросов в полёте. Экземпляр исключается после
+ * eject-after-errors ошибок подряд или неудачной проверки здоровья и возвращается после удачной.
+ * Если исключены все, запросы идут на все: лучше попытаться, чем сразу отказать.
+ * <p>
+ * Балансируется только чтение. Сервер проверяет пересечения бронирований по состоянию в памяти экземпляра,
+ * поэтому запросы, меняющие данные, и GET на shareit-server.writer-paths всегда идут на writer-url,
+ * даже если он исключён: другой экземпляр не может принять их, не нарушив эту проверку.
+ */
+@Slf4j
+@Component
+@Profile("!" + InProcessClient.PROFILE)
+@ConditionalOnProperty(prefix = "shareit-server", name = "urls")
+public class ServerBalancer implements DisposableBean {
+
+    private final String serverUrl;
+    private final List<ServerEndpoint> endpoints;
+    private final ServerEndpoint writer;
+    private final List<PathPattern> writerPaths;
+    private final int ejectAfterErrors;
+    private final Map<ServerEndpoint, Counter> ejections;
+    private final HttpClient healthClient;
+    private final ShareItServerProperties.HealthCheck healthCheck;
+    private final ScheduledExecutorService healthChecks;
+
+    public ServerBalancer(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        this.serverUrl = withoutTrailingSlash(URI.create(properties.getUrl()).normalize().toString());
+        this.endpoints = properties.getUrls().stream()
+                .map(url -> new ServerEndpoint(withoutTrailingSlash(url)))
+                .collect(Collectors.toList());
+        this.writer = writer(endpoints, properties.getWriterUrl());
+        this.writerPaths = properties.getWriterPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList());
+        this.ejectAfterErrors = properties.getEjectAfterErrors();
+        this.ejections = endpoints.stream()
+                .collect(Collectors.toMap(Function.identity(), endpoint -> Counter.builder("gateway.server.ejections")
+                        .description("Сколько раз экземпляр сервера исключался из балансировки")
+                        .tag("endpoint", endpoint.getUrl())
+                        .register(meterRegistry)));
+        for (ServerEndpoint endpoint : endpoints) {
+            Gauge.builder("gateway.server.outstanding", endpoint, ServerEndpoint::getOutstanding)
+                    .description("Запросы к экземпляру сервера в полёте")
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.server.healthy", endpoint, e -> e.isEjected() ? 0 : 1)
+                    .description("1, если экземпляр сервера участвует в балансировке")
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+        }
+
+        this.healthCheck = properties.getHealthCheck();
+        this.healthClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("server-health-");
+        threadFactory.setDaemon(true);
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = healthCheck.getInterval().toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Выбирает экземпляр и учитывает запрос к нему; каждому выбору должен соответствовать
+     * {@link #release} или {@link #cancel}.
+     *
+     * @return null, если uri не ведёт на сервер
+     */
+    @Nullable
+    public ServerEndpoint choose(URI uri, @Nullable HttpMethod method, @Nullable AttemptRouting routing) {
+        if (!uri.toString().startsWith(serverUrl)) {
+            return null;
+        }
+        ServerEndpoint endpoint = isForWriter(uri, method)
+                ? writer
+                : choose(routing == null ? null : routing.getPrevious());
+        if (routing != null) {
+            routing.setPrevious(endpoint);
+        }
+        endpoint.start();
+        return endpoint;
+    }
+
+    public URI resolve(URI uri, ServerEndpoint endpoint) {
+        return URI.create(endpoint.getUrl() + uri.toString().substring(serverUrl.length()));
+    }
+
+    /**
+     * @param failed сервер не ответил или ответил {@link #isFailure(int) ошибкой}
+     */
+    public void release(ServerEndpoint endpoint, boolean failed) {
+        endpoint.finish();
+        if (!failed) {
+            endpoint.succeed();
+        } else if (endpoint.fail() >= ejectAfterErrors) {
+            eject(endpoint, "ошибок подряд: " + ejectAfterErrors);
+        }
+    }
+
+    /**
+     * Запрос отменён до ответа: об исправности экземпляра это ничего не говорит.
+     */
+    public void cancel(ServerEndpoint endpoint) {
+        endpoint.finish();
+    }
+
+    List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public static boolean isFailure(int status) {
+        return status >= 500;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecks.shutdownNow();
+    }
+
+    private boolean isForWriter(URI uri, @Nullable HttpMethod method) {
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS) {
+            return true;
+        }
+        String relative = uri.toString().substring(serverUrl.length());
+        int query = relative.indexOf('?');
+        PathContainer path = PathContainer.parsePath(query < 0 ? relative : relative.substring(0, query));
+        for (PathPattern pattern : writerPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param excluded экземпляр предыдущей попытки: выбирается, только если других нет
+     */
+    private ServerEndpoint choose(@Nullable ServerEndpoint excluded) {
+        ServerEndpoint first = randomExcept(excluded, null);
+        ServerEndpoint second = randomExcept(excluded, first);
+        if (first == null) {
+            return excluded;
+        }
+        if (second == null) {
+            return first.isEjected() ? anyHealthy(first) : first;
+        }
+
+        if (first.isEjected() && second.isEjected()) {
+            return anyHealthy(first);
+        }
+        if (first.isEjected() || second.isEjected()) {
+            return first.isEjected() ? second : first;
+        }
+        return first.getOutstanding() <= second.getOutstanding() ? first : second;
+    }
+
+    /**
+     * @return случайный экземпляр, кроме этих двух, или null, если других нет
+     */
+    @Nullable
+    private ServerEndpoint randomExcept(@Nullable ServerEndpoint a, @Nullable ServerEndpoint b) {
+        int size = endpoints.size();
+        int from = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            ServerEndpoint endpoint = endpoints.get((from + i) % size);
+            if (endpoint != a && endpoint != b) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Если исключены все, возвращает fallback: лучше попытаться, чем сразу отказать.
+     */
+    private ServerEndpoint anyHealthy(ServerEndpoint fallback) {
+        for (ServerEndpoint endpoint : endpoints) {
+            if (!endpoint.isEjected()) {
+                return endpoint;
+            }
+        }
+        return fallback;
+    }
+
+    void checkHealth() {
+        for (ServerEndpoint endpoint : endpoints) {
+            String failure;
+            try {
+                failure = probe(endpoint);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (failure == null) {
+                if (endpoint.readmit()) {
+                    log.info("Экземпляр сервера {} снова участвует в балансировке", endpoint.getUrl());
+                }
+            } else {
+                eject(endpoint, failure);
+            }
+        }
+    }
+
+    /**
+     * @return null, если экземпляр здоров, иначе причина
+     */
+    @Nullable
+    private String probe(ServerEndpoint endpoint) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.getUrl() + healthCheck.getPath()))
+                .timeout(healthCheck.getTimeout())
+                .GET()
+                .build();
+        try {
+            int status = healthClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status / 100 == 2 ? null : "проверка здоровья вернула " + status;
+        } catch (IOException e) {
+            return "проверка здоровья не прошла: " + e;
+        }
+    }
+
+    private void eject(ServerEndpoint endpoint, String reason) {
+        if (endpoint.eject()) {
+            ejections.get(endpoint).increment();
+            log.warn("Экземпляр сервера {} исключён из балансировки, {}", endpoint.getUrl(), reason);
+        }
+    }
+
+    private static ServerEndpoint writer(List<ServerEndpoint> endpoints, @Nullable String writerUrl) {
+        if (writerUrl == null || writerUrl.isBlank()) {
+            throw new IllegalStateException("Для балансировки между shareit-server.urls нужен "
+                    + "shareit-server.writer-url: запросы, меняющие данные, принимает только один экземпляр.");
+        }
+        String url = withoutTrailingSlash(writerUrl);
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.getUrl().equals(url))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("shareit-server.writer-url=" + writerUrl
+                        + " должен быть одним из shareit-server.urls."));
+    }
+
+    private static String withoutTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
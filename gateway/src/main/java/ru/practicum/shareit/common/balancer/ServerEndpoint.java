@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common.balancer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр сервера: сколько запросов к нему в полёте и сколько ошибок подряд он вернул.
+ */
+public class ServerEndpoint {
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+    private final AtomicBoolean ejected = new AtomicBoolean();
+
+    ServerEndpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    boolean isEjected() {
+        return ejected.get();
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    void finish() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * @return число ошибок подряд, включая эту
+     */
+    int fail() {
+        return consecutiveErrors.incrementAndGet();
+    }
+
+    void succeed() {
+        consecutiveErrors.set(0);
+    }
+
+    /**
+     * @return true, если экземпляр был исправен
+     */
+    boolean eject() {
+        return ejected.compareAndSet(false, true);
+    }
+
+    /**
+     * @return true, если экземпляр был исключён
+     */
+    boolean readmit() {
+        consecutiveErrors.set(0);
+        return ejected.compareAndSet(true, false);
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.common.breaker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Предохранитель одного раздела сервера. Закрыт, пока доли ошибок и медленных ответов за скользящее окно
+ * ниже порогов; разомкнут openDuration, затем пропускает halfOpenCalls пробных запросов: если все успешны,
+ * замыкается, первая неудача размыкает его снова. Окно состоит из {@link #BUCKETS} корзин.
+ */
+@Slf4j
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private static final int BUCKETS = 10;
+
+    private final String section;
+    private final CircuitBreakerProperties properties;
+    private final long bucketDuration;
+    private final long slowCallDuration;
+    private final long openDuration;
+    private final long[] bucketStarts = new long[BUCKETS];
+    private final int[] calls = new int[BUCKETS];
+    private final int[] failures = new int[BUCKETS];
+    private final int[] slowCalls = new int[BUCKETS];
+
+    private volatile State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    CircuitBreaker(String section, CircuitBreakerProperties properties) {
+        this.section = section;
+        this.properties = properties;
+        this.bucketDuration = Math.max(1, properties.getWindow().toNanos() / BUCKETS);
+        this.slowCallDuration = properties.getSlowCallDuration().toNanos();
+        this.openDuration = properties.getOpenDuration().toNanos();
+    }
+
+    /**
+     * @return поколение, в котором начат запрос, или -1, если предохранитель его не пропускает
+     */
+    synchronized long tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openDuration) {
+                return -1;
+            }
+            transition(State.HALF_OPEN, now);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= properties.getHalfOpenCalls()) {
+                return -1;
+            }
+            trialsStarted++;
+        }
+        return generation;
+    }
+
+    /**
+     * Учитывает результат запроса. Результаты запросов, начатых до смены состояния, не учитываются.
+     */
+    synchronized void onResult(long generation, long duration, boolean failed, long now) {
+        if (generation != this.generation) {
+            return;
+        }
+        boolean slow = duration >= slowCallDuration;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transition(State.OPEN, now);
+            } else if (++trialsSucceeded >= properties.getHalfOpenCalls()) {
+                transition(State.CLOSED, now);
+            }
+            return;
+        }
+
+        int bucket = bucket(now);
+        calls[bucket]++;
+        failures[bucket] += failed ? 1 : 0;
+        slowCalls[bucket] += slow ? 1 : 0;
+        int total = sum(calls, now);
+        if (total >= properties.getMinimumCalls()
+                && (sum(failures, now) >= properties.getFailureRateThreshold() * total
+                || sum(slowCalls, now) >= properties.getSlowCallRateThreshold() * total)) {
+            transition(State.OPEN, now);
+        }
+    }
+
+    /**
+     * Запрос отменён до ответа: пробное место освобождается.
+     */
+    synchronized void cancel(long generation) {
+        if (generation == this.generation && state == State.HALF_OPEN) {
+            trialsStarted--;
+        }
+    }
+
+    State getState() {
+        return state;
+    }
+
+    synchronized double failureRate(long now) {
+        int total = sum(calls, now);
+        return total == 0 ? 0 : (double) sum(failures, now) / total;
+    }
+
+    synchronized double slowCallRate(long now) {
+        int total = sum(calls, now);
+        return total == 0 ? 0 : (double) sum(slowCalls, now) / total;
+    }
+
+    private void transition(State state, long now) {
+        log.warn("Предохранитель запросов {}: {} -> {}", section, this.state, state);
+        this.state = state;
+        generation++;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+        if (state == State.OPEN) {
+            openedAt = now;
+        }
+        if (state == State.CLOSED) {
+            for (int i = 0; i < BUCKETS; i++) {
+                calls[i] = 0;
+                failures[i] = 0;
+                slowCalls[i] = 0;
+            }
+        }
+    }
+
+    private int bucket(long now) {
+        long index = Math.floorDiv(now, bucketDuration);
+        long start = index * bucketDuration;
+        int bucket = (int) Math.floorMod(index, (long) BUCKETS);
+        if (bucketStarts[bucket] != start) {
+            bucketStarts[bucket] = start;
+            calls[bucket] = 0;
+            failures[bucket] = 0;
+            slowCalls[bucket] = 0;
+        }
+        return bucket;
+    }
+
+    private int sum(int[] counts, long now) {
+        int result = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (now - bucketStarts[i] < bucketDuration * BUCKETS) {
+                result += counts[i];
+            }
+        }
+        return result;
+    }
+}
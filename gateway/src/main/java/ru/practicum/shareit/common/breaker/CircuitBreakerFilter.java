@@ -0,0 +1,28 @@
+package ru.practicum.shareit.common.breaker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ServerCircuitBreakers} для клиентов на WebClient.
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private final ServerCircuitBreakers breakers;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerCircuitBreakers.Permit permit = breakers.acquire(request.url());
+            return next.exchange(request)
+                    .doOnNext(response -> permit.release(ServerCircuitBreakers.isFailure(response.rawStatusCode())))
+                    .doOnError(e -> permit.release(true))
+                    .doOnCancel(permit::cancel);
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common.breaker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * {@link ServerCircuitBreakers} для клиентов на RestTemplate.
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ServerCircuitBreakers breakers;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerCircuitBreakers.Permit permit = breakers.acquire(request.getURI());
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+        permit.release(ServerCircuitBreakers.isFailure(response.getRawStatusCode()));
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.common.breaker;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Окно, по которому считаются доли ошибок и медленных ответов.
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * Меньше запросов за окно - слишком мало, чтобы судить о сервере.
+     */
+    @Min(1)
+    private int minimumCalls = 20;
+
+    /**
+     * Доля ошибок (нет ответа или 5xx), при которой предохранитель размыкается.
+     */
+    @DecimalMin("0.01")
+    @DecimalMax("1.0")
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Ответ медленнее этого считается медленным.
+     */
+    private Duration slowCallDuration = Duration.ofSeconds(3);
+
+    @DecimalMin("0.01")
+    @DecimalMax("1.0")
+    private double slowCallRateThreshold = 0.8;
+
+    /**
+     * Сколько предохранитель разомкнут, прежде чем пропустить пробные запросы.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    @Positive
+    private int halfOpenCalls = 5;
+
+    /**
+     * Сколько одновременных запросов к серверу может занять один клиент шлюза, чтобы зависший раздел
+     * не забрал все потоки.
+     */
+    @Positive
+    private int maxConcurrentCalls = 100;
+
+    /**
+     * Свой предел для отдельных клиентов по имени раздела: bookings, items, users, requests.
+     */
+    private Map<String, Integer> clientMaxConcurrentCalls = new HashMap<>();
+}
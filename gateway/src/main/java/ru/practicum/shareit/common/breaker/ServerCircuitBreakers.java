@@ -0,0 +1,159 @@
+package ru.practicum.shareit.common.breaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.ServerPath;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Предохранитель и отсек (ограничение одновременных запросов) для каждого клиента шлюза (раздела API):
+ * когда один раздел сервера деградирует, запросы к нему сразу получают 503, а потоки шлюза
+ * остаются остальным клиентам.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.circuit-breaker", name = "enabled", matchIfMissing = true)
+public class ServerCircuitBreakers {
+
+    private final CircuitBreakerProperties properties;
+    private final String serverUrl;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    public ServerCircuitBreakers(CircuitBreakerProperties properties, ShareItServerProperties serverProperties,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.serverUrl = URI.create(serverProperties.getUrl()).normalize().toString();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @throws ServerUnavailableException если предохранитель раздела разомкнут или его отсек заполнен
+     */
+    public Permit acquire(URI uri) {
+        ServerPath path = ServerPath.of(uri, serverUrl);
+        if (path == null) {
+            return Permit.NONE;
+        }
+        Route route = routes.computeIfAbsent(path.getSection(), this::register);
+
+        long generation = route.breaker.tryAcquire(System.nanoTime());
+        if (generation < 0) {
+            route.openRejected.increment();
+            throw new ServerUnavailableException(String.format(
+                    "Сервер не отвечает на запросы %s, повторите запрос позже.", route.section));
+        }
+        if (!route.bulkhead.tryAcquire()) {
+            route.breaker.cancel(generation);
+            route.bulkheadRejected.increment();
+            throw new ServerUnavailableException(String.format(
+                    "Слишком много одновременных запросов %s, повторите запрос позже.", route.section));
+        }
+        return new Permit(route, generation, System.nanoTime());
+    }
+
+    /**
+     * Неудача - нет ответа или 5xx; 4xx говорят об ошибке в запросе.
+     */
+    public static boolean isFailure(int status) {
+        return status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private Route register(String section) {
+        String client = section.substring(1);
+        Tags tags = Tags.of("client", client);
+        Route route = new Route(section, new CircuitBreaker(section, properties),
+                properties.getClientMaxConcurrentCalls().getOrDefault(client, properties.getMaxConcurrentCalls()),
+                rejected(tags, "open"), rejected(tags, "bulkhead"));
+        Gauge.builder("gateway.circuit.state", route.breaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние предохранителя: 0 - замкнут, 1 - пробные запросы, 2 - разомкнут")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuit.failure.rate", route.breaker, b -> b.failureRate(System.nanoTime()))
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuit.slow.rate", route.breaker, b -> b.slowCallRate(System.nanoTime()))
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.bulkhead.in.flight", route, r -> r.maxConcurrentCalls - r.bulkhead.availablePermits())
+                .description("Одновременные запросы клиента к серверу")
+                .tags(tags)
+                .register(meterRegistry);
+        return route;
+    }
+
+    private Counter rejected(Tags tags, String reason) {
+        return Counter.builder("gateway.circuit.rejected")
+                .description("Запросы, отклонённые с 503 без обращения к серверу")
+                .tags(tags)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public static class Permit {
+
+        private static final Permit NONE = new Permit(null, 0, 0);
+
+        private final Route route;
+        private final long generation;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Route route, long generation, long start) {
+            this.route = route;
+            this.generation = generation;
+            this.start = start;
+        }
+
+        /**
+         * @param failed сервер не ответил или {@link #isFailure(int) ответил ошибкой}
+         */
+        public void release(boolean failed) {
+            if (route != null && released.compareAndSet(false, true)) {
+                route.bulkhead.release();
+                long now = System.nanoTime();
+                route.breaker.onResult(generation, now - start, failed, now);
+            }
+        }
+
+        /**
+         * Запрос отменён, пока ждал сервер.
+         */
+        public void cancel() {
+            if (route != null && released.compareAndSet(false, true)) {
+                route.bulkhead.release();
+                route.breaker.cancel(generation);
+            }
+        }
+    }
+
+    private static class Route {
+
+        private final String section;
+        private final CircuitBreaker breaker;
+        private final Semaphore bulkhead;
+        private final int maxConcurrentCalls;
+        private final Counter openRejected;
+        private final Counter bulkheadRejected;
+
+        Route(String section, CircuitBreaker breaker, int maxConcurrentCalls, Counter openRejected,
+              Counter bulkheadRejected) {
+            this.section = section;
+            this.breaker = breaker;
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.openRejected = openRejected;
+            this.bulkheadRejected = bulkheadRejected;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common.breaker;
+
+/**
+ * Запрос к серверу не отправлен: предохранитель раздела разомкнут или клиент занял все свои места.
+ */
+public class ServerUnavailableException extends RuntimeException {
+
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class GatewayCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Записи через другие экземпляры шлюза кеш не видит, поэтому TTL ограничивает время устаревания.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+
+    /**
+     * Разделы API, GET-ответы которых кешируются. Списки бронирований зависят от текущего времени и не кешируются.
+     */
+    private List<String> paths = List.of("/items", "/users", "/requests");
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.BufferedResponse;
+import ru.practicum.shareit.common.ServerPath;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кеш GET-ответов сервера. Ключ - путь, параметры запроса и X-Sharer-User-Id: вещь владельцу
+ * показывается с бронированиями, остальным без них. Успешная запись через шлюз вытесняет ответы
+ * о том же ресурсе, списки его раздела и разделы, которые показывают его данные. Ключи проиндексированы
+ * по разделу и id ресурса, поэтому запись перебирает только вытесняемые ответы, а не весь кеш.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.cache", name = "enabled", matchIfMissing = true)
+public class GatewayResponseCache {
+
+    public static final String CACHE_NAME = "gateway-responses";
+
+    /**
+     * Бронирования видны в вещах владельца, вещи - в ответах на запросы, пользователи удаляются вместе со всем своим.
+     */
+    private static final Map<String, Set<String>> DEPENDENT_PATHS = Map.of(
+            "/bookings", Set.of("/items"),
+            "/items", Set.of("/requests"),
+            "/users", Set.of("/items", "/requests"));
+
+    private final GatewayCacheProperties properties;
+    private final String serverUrl;
+    /**
+     * Id ресурса в индексе для списков и поиска раздела.
+     */
+    private static final String LISTS = "";
+
+    private final Cache<Key, BufferedResponse> cache;
+    private final Counter invalidated;
+
+    /**
+     * Раздел - id ресурса - ключи его ответов в кеше. Множество ключей меняется только внутри compute.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Set<Key>>> index = new ConcurrentHashMap<>();
+
+    /**
+     * Растёт при каждой инвалидации; ответ, запрошенный до неё, уже может быть устаревшим и не кешируется.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public GatewayResponseCache(GatewayCacheProperties properties, ShareItServerProperties serverProperties,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.serverUrl = URI.create(serverProperties.getUrl()).normalize().toString();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .executor(Runnable::run)
+                .removalListener((Key key, BufferedResponse response, RemovalCause cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidated = Counter.builder("gateway.cache.invalidations")
+                .description("Ответы, вытесненные из кеша записью через шлюз")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    @Nullable
+    public BufferedResponse get(URI uri, @Nullable String userId) {
+        Key key = key(uri, userId);
+        return key != null ? cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * @param generation значение {@link #generation()} до отправки запроса на сервер
+     */
+    public void put(URI uri, @Nullable String userId, BufferedResponse response, long generation) {
+        Key key = key(uri, userId);
+        if (key == null || response.getStatus() != 200) {
+            return;
+        }
+        index(key);
+        cache.put(key, response);
+        if (this.generation.get() != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(URI uri) {
+        ServerPath written = ServerPath.of(uri, serverUrl);
+        if (written == null) {
+            return;
+        }
+        generation.incrementAndGet();
+
+        for (String dependent : DEPENDENT_PATHS.getOrDefault(written.getSection(), Set.of())) {
+            ConcurrentMap<String, Set<Key>> ids = index.get(dependent);
+            if (ids != null) {
+                ids.keySet().forEach(id -> evict(ids, id));
+            }
+        }
+        ConcurrentMap<String, Set<Key>> ids = index.get(written.getSection());
+        if (ids != null) {
+            evict(ids, LISTS);
+            if (written.getId() != null) {
+                evict(ids, written.getId());
+            }
+        }
+    }
+
+    private void evict(ConcurrentMap<String, Set<Key>> ids, String id) {
+        Set<Key> keys = ids.remove(id);
+        if (keys != null) {
+            invalidated.increment(keys.size());
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void index(Key key) {
+        index.computeIfAbsent(key.resource.getSection(), section -> new ConcurrentHashMap<>())
+                .compute(indexId(key), (id, keys) -> {
+                    Set<Key> updated = keys != null ? keys : new HashSet<>();
+                    updated.add(key);
+                    return updated;
+                });
+    }
+
+    private void unindex(Key key) {
+        ConcurrentMap<String, Set<Key>> ids = index.get(key.resource.getSection());
+        if (ids != null) {
+            ids.computeIfPresent(indexId(key), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static String indexId(Key key) {
+        return key.resource.getId() != null ? key.resource.getId() : LISTS;
+    }
+
+    @Nullable
+    private Key key(URI uri, @Nullable String userId) {
+        ServerPath resource = ServerPath.of(uri, serverUrl);
+        if (resource == null || !properties.getPaths().contains(resource.getSection())) {
+            return null;
+        }
+        return new Key(resource, uri.toString(), userId);
+    }
+
+    @Value
+    private static class Key {
+        ServerPath resource;
+        String uri;
+        @Nullable
+        String userId;
+    }
+}
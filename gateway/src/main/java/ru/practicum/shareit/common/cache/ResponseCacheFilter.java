@@ -0,0 +1,48 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.BufferedResponse;
+
+import java.net.URI;
+
+/**
+ * {@link GatewayResponseCache} для клиентов на WebClient.
+ */
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements ExchangeFilterFunction {
+
+    private final GatewayResponseCache cache;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        URI uri = request.url();
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request).doOnNext(response -> {
+                if (HttpStatus.Series.resolve(response.rawStatusCode()) == HttpStatus.Series.SUCCESSFUL) {
+                    cache.invalidate(uri);
+                }
+            });
+        }
+
+        String userId = request.headers().getFirst("X-Sharer-User-Id");
+        BufferedResponse cached = cache.get(uri, userId);
+        if (cached != null) {
+            return Mono.just(cached.toClientResponse());
+        }
+
+        long generation = cache.generation();
+        return next.exchange(request)
+                .flatMap(BufferedResponse::of)
+                .map(fresh -> {
+                    cache.put(uri, userId, fresh, generation);
+                    return fresh.toClientResponse();
+                });
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.common.BufferedResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * {@link GatewayResponseCache} для клиентов на RestTemplate.
+ */
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private final GatewayResponseCache cache;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (HttpStatus.Series.resolve(response.getRawStatusCode()) == HttpStatus.Series.SUCCESSFUL) {
+                cache.invalidate(uri);
+            }
+            return response;
+        }
+
+        String userId = request.getHeaders().getFirst("X-Sharer-User-Id");
+        BufferedResponse cached = cache.get(uri, userId);
+        if (cached != null) {
+            return cached.toClientHttpResponse();
+        }
+
+        long generation = cache.generation();
+        BufferedResponse fresh = BufferedResponse.of(execution.execute(request, body));
+        cache.put(uri, userId, fresh, generation);
+        return fresh.toClientHttpResponse();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.coalescing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.BufferedResponse;
+
+/**
+ * {@link RequestCoalescer} для клиентов на WebClient.
+ */
+@RequiredArgsConstructor
+public class CoalescingFilter implements ExchangeFilterFunction {
+
+    private final RequestCoalescer coalescer;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request).doFinally(signal -> coalescer.writeCompleted());
+        }
+        return coalescer.execute(request.url(), request.headers().getFirst("X-Sharer-User-Id"),
+                        next.exchange(request).flatMap(BufferedResponse::of))
+                .map(BufferedResponse::toClientResponse);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.common.coalescing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.common.BufferedResponse;
+
+import java.io.IOException;
+
+/**
+ * {@link RequestCoalescer} для клиентов на RestTemplate.
+ */
+@RequiredArgsConstructor
+public class CoalescingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RequestCoalescer coalescer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            try {
+                return execution.execute(request, body);
+            } finally {
+                coalescer.writeCompleted();
+            }
+        }
+        return coalescer.execute(request.getURI(), request.getHeaders().getFirst("X-Sharer-User-Id"),
+                        () -> BufferedResponse.of(execution.execute(request, body)))
+                .toClientHttpResponse();
+    }
+}
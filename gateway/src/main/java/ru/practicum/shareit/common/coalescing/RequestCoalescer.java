@@ -0,0 +1,140 @@
+package ru.practicum.shareit.common.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.BufferedResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Склеивает одинаковые одновременные GET-запросы к серверу: пока запрос с тем же URI и X-Sharer-User-Id
+ * в пути, остальные ждут его ответа вместо собственного запроса. Другие методы не склеиваются,
+ * потому что не идемпотентны. Склеиваются только запросы одного поколения записей: запрос после записи
+ * через шлюз не получит ответ, запрошенный до неё, даже если кеш ответов выключен.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.coalescing", name = "enabled", matchIfMissing = true)
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Mono<BufferedResponse>> inFlightReactive = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    /**
+     * Растёт после каждой записи через шлюз.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("gateway.coalescing.requests")
+                .description("GET-запросы, отправленные на сервер")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("gateway.coalescing.requests")
+                .description("GET-запросы, получившие ответ чужого запроса")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in.flight", this, coalescer ->
+                        coalescer.inFlight.size() + coalescer.inFlightReactive.size())
+                .description("Уникальные GET-запросы к серверу в пути")
+                .register(meterRegistry);
+    }
+
+    public BufferedResponse execute(URI uri, @Nullable String userId, ServerCall call) throws IOException {
+        Key key = key(uri, userId);
+        CompletableFuture<BufferedResponse> own = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> leader = inFlight.putIfAbsent(key, own);
+        if (leader != null) {
+            followers.increment();
+            return await(leader);
+        }
+
+        leaders.increment();
+        try {
+            BufferedResponse response = call.execute();
+            own.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public Mono<BufferedResponse> execute(URI uri, @Nullable String userId, Mono<BufferedResponse> call) {
+        return Mono.defer(() -> {
+            Key key = key(uri, userId);
+            // Ответ мог уже прийти, а за ним - следующий лидер с тем же ключом: удаляется только свой.
+            AtomicReference<Mono<BufferedResponse>> self = new AtomicReference<>();
+            Mono<BufferedResponse> own = call
+                    .doFinally(signal -> inFlightReactive.remove(key, self.get()))
+                    .cache();
+            self.set(own);
+            Mono<BufferedResponse> leader = inFlightReactive.putIfAbsent(key, own);
+            if (leader != null) {
+                followers.increment();
+                return leader;
+            }
+            leaders.increment();
+            return own;
+        });
+    }
+
+    /**
+     * Вызывается по завершении запроса, который мог изменить данные, в том числе неудачного.
+     */
+    public void writeCompleted() {
+        generation.incrementAndGet();
+    }
+
+    private Key key(URI uri, @Nullable String userId) {
+        return new Key(uri.toString(), userId, generation.get());
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Прервано ожидание ответа сервера.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ServerCall {
+        BufferedResponse execute() throws IOException;
+    }
+
+    @Value
+    private static class Key {
+        String uri;
+        @Nullable
+        String userId;
+        long generation;
+    }
+}
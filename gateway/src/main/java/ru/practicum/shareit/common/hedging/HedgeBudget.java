@@ -0,0 +1,40 @@
+package ru.practicum.shareit.common.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Бюджет повторов: каждый запрос добавляет ratio повтора, каждый повтор тратит целый. Запас ограничен
+ * {@link #MAX_HEDGES} повторами, поэтому после спокойного периода повторы не уходят на сервер пачкой.
+ */
+class HedgeBudget {
+
+    private static final long UNIT = 1_000;
+    private static final long MAX_HEDGES = 10;
+
+    private final long deposit;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double ratio) {
+        this.deposit = Math.round(ratio * UNIT);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(current + amount, MAX_HEDGES * UNIT));
+    }
+
+    boolean hasHedge() {
+        return balance.get() >= UNIT;
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
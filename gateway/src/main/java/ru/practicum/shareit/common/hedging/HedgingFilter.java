@@ -0,0 +1,116 @@
+package ru.practicum.shareit.common.hedging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import ru.practicum.shareit.common.balancer.AttemptRouting;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RequestHedger} для клиентов на WebClient. Каждая попытка проходит фильтры после этого
+ * (адаптивный предел, выбор экземпляра) заново. Опоздавшая попытка не отменяется, а дожидается ответа,
+ * как и у RestTemplate: иначе балансировщик не узнает, что экземпляр завис, и будет выбирать его снова.
+ */
+@RequiredArgsConstructor
+public class HedgingFilter implements ExchangeFilterFunction {
+
+    private final RequestHedger hedger;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        RequestHedger.Section section = hedger.section(request.method(), request.url());
+        if (section == null) {
+            return next.exchange(request);
+        }
+
+        ClientRequest routed = ClientRequest.from(request)
+                .attribute(AttemptRouting.ATTRIBUTE, new AttemptRouting())
+                .build();
+        return Mono.create(sink -> {
+            Race race = new Race(sink, section);
+            sink.onCancel(race::cancel);
+            long delay = section.start();
+            race.add(attempt(section, routed, next), false);
+            race.schedule(Mono.delay(Duration.ofNanos(delay))
+                    .subscribe(tick -> {
+                        if (!race.isDone() && section.tryHedge()) {
+                            race.add(attempt(section, routed, next), true);
+                        }
+                    }));
+        });
+    }
+
+    private static Mono<ClientResponse> attempt(RequestHedger.Section section, ClientRequest request,
+                                                ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> section.record(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Побеждает первый ответ. Ошибка возвращается, только когда не ответила ни одна из отправленных попыток.
+     */
+    private static class Race {
+
+        private final MonoSink<ClientResponse> sink;
+        private final RequestHedger.Section section;
+        private final Disposable.Composite attempts = Disposables.composite();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile boolean hedged;
+        private volatile Throwable error;
+
+        Race(MonoSink<ClientResponse> sink, RequestHedger.Section section) {
+            this.sink = sink;
+            this.section = section;
+        }
+
+        void add(Mono<ClientResponse> attempt, boolean hedge) {
+            running.incrementAndGet();
+            if (hedge) {
+                hedged = true;
+            }
+            attempts.add(attempt.subscribe(response -> {
+                if (done.compareAndSet(false, true)) {
+                    if (hedged) {
+                        section.answered(hedge);
+                    }
+                    sink.success(response);
+                } else {
+                    response.releaseBody().subscribe();
+                }
+            }, e -> {
+                if (error == null) {
+                    error = e;
+                }
+                if (running.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                    sink.error(error);
+                }
+            }));
+        }
+
+        void schedule(Disposable hedge) {
+            attempts.add(hedge);
+        }
+
+        boolean isDone() {
+            return done.get();
+        }
+
+        void cancel() {
+            done.set(true);
+            attempts.dispose();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.common.hedging;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.common.balancer.AttemptRouting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RequestHedger} для клиентов на RestTemplate. Цепочку RestTemplate нельзя пройти дважды,
+ * поэтому перехватчик стоит последним и сам вызывает перехватчики, через которые должна пройти каждая попытка
+ * (адаптивный предел, выбор экземпляра). Если повтор возможен, обе попытки выполняются в потоках
+ * {@link RequestHedger}: поток запроса должен вернуть первый ответ, не дожидаясь опоздавшей попытки, а та
+ * не отменяется, чтобы балансировщик узнал, что экземпляр завис. Если повтор невозможен (бюджет исчерпан
+ * или заняты все потоки), единственная попытка выполняется в потоке запроса.
+ */
+public class HedgingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RequestHedger hedger;
+    private final List<ClientHttpRequestInterceptor> attemptInterceptors;
+
+    public HedgingInterceptor(RequestHedger hedger, List<ClientHttpRequestInterceptor> attemptInterceptors) {
+        this.hedger = hedger;
+        this.attemptInterceptors = new ArrayList<>(attemptInterceptors);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestHedger.Section section = hedger.section(request.getMethod(), request.getURI());
+        if (section == null) {
+            return executeAttempt(request, body, execution);
+        }
+
+        long delay = section.start();
+        if (!section.mayHedge()) {
+            return attempt(section, request, body, execution);
+        }
+        if (!hedger.tryAcquireThread()) {
+            section.noThreads();
+            return attempt(section, request, body, execution);
+        }
+        AttemptRouting routing = new AttemptRouting();
+        Race race = new Race();
+        race.add(asyncAttempt(section, routing, request, body, execution), false);
+        ClientHttpResponse response = race.await(delay);
+        if (response != null) {
+            return response;
+        }
+
+        if (!hedger.tryAcquireThread()) {
+            section.noThreads();
+            return race.await(-1);
+        }
+        if (!section.tryHedge()) {
+            hedger.releaseThread();
+            return race.await(-1);
+        }
+        race.add(asyncAttempt(section, routing, request, body, execution), true);
+        response = race.await(-1);
+        section.answered(race.hedgeWon);
+        return response;
+    }
+
+    /**
+     * Попытка в потоке, занятом {@link RequestHedger#tryAcquireThread}.
+     */
+    private CompletableFuture<ClientHttpResponse> asyncAttempt(RequestHedger.Section section,
+                                                               AttemptRouting routing, HttpRequest request,
+                                                               byte[] body, ClientHttpRequestExecution execution) {
+        return hedger.supplyAsync(() -> {
+            routing.bind();
+            try {
+                return attempt(section, request, body, execution);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                AttemptRouting.unbind();
+            }
+        });
+    }
+
+    private ClientHttpResponse attempt(RequestHedger.Section section, HttpRequest request, byte[] body,
+                                       ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        ClientHttpResponse response = executeAttempt(request, body, execution);
+        section.record(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Проходит перехватчики попытки и отправляет запрос. Перехватчик стоит в RestTemplate последним,
+     * поэтому execution сразу отправляет запрос, и его можно вызывать из нескольких потоков.
+     */
+    private ClientHttpResponse executeAttempt(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Iterator<ClientHttpRequestInterceptor> interceptors = attemptInterceptors.iterator();
+        return new ClientHttpRequestExecution() {
+            @Override
+            public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+                return interceptors.hasNext()
+                        ? interceptors.next().intercept(request, body, this)
+                        : execution.execute(request, body);
+            }
+        }.execute(request, body);
+    }
+
+    /**
+     * Побеждает первый ответ; ответы опоздавших попыток закрываются. Ошибка возвращается,
+     * только когда не ответила ни одна из отправленных попыток.
+     */
+    private static class Race {
+
+        private final CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        private final AtomicBoolean answered = new AtomicBoolean();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile Throwable error;
+        private volatile boolean hedgeWon;
+
+        void add(CompletableFuture<ClientHttpResponse> attempt, boolean hedge) {
+            running.incrementAndGet();
+            attempt.whenComplete((response, e) -> {
+                if (response != null) {
+                    // hedgeWon записывается до ответа: поток запроса читает его сразу, как только ответ получен.
+                    if (answered.compareAndSet(false, true)) {
+                        hedgeWon = hedge;
+                        winner.complete(response);
+                    } else {
+                        response.close();
+                    }
+                    return;
+                }
+                if (error == null) {
+                    error = e;
+                }
+                if (running.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+
+        /**
+         * @param timeout сколько ждать в наносекундах, -1 - без ограничения
+         * @return null, если за timeout ответа нет
+         */
+        ClientHttpResponse await(long timeout) throws IOException {
+            try {
+                return timeout < 0 ? winner.get() : winner.get(timeout, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Запрос к серверу прерван");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
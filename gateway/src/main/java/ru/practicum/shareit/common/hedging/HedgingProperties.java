@@ -0,0 +1,55 @@
+package ru.practicum.shareit.common.hedging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Повторная попытка отправляется, если первая отвечает дольше этого перцентиля времени ответа раздела.
+     */
+    @DecimalMin("0.5")
+    @DecimalMax("0.999")
+    private double percentile = 0.95;
+
+    /**
+     * Задержка, пока по разделу не набралось min-samples ответов.
+     */
+    private Duration initialDelay = Duration.ofMillis(200);
+
+    /**
+     * Нижняя граница задержки: на быстром сервере повтор почти всегда пришёл бы позже первой попытки.
+     */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /**
+     * Сколько последних ответов раздела учитывается в перцентиле.
+     */
+    @Min(100)
+    private int window = 1000;
+
+    @Min(1)
+    private int minSamples = 100;
+
+    /**
+     * Доля повторов от числа GET-запросов: во время сбоя повторы не должны заметно увеличить нагрузку.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double maxRatio = 0.1;
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Последние времена ответа раздела в кольцевом буфере. Перцентиль пересчитывается сортировкой копии
+ * раз в {@link #RECALCULATE_EVERY} записей, а читается без блокировок.
+ */
+class LatencyWindow {
+
+    private static final int RECALCULATE_EVERY = 64;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long value = -1;
+
+    LatencyWindow(int size, double percentile, int minSamples) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples[(int) (index % samples.length)] = nanos;
+        if (index + 1 >= minSamples && (index + 1) % RECALCULATE_EVERY == 0) {
+            recalculate((int) Math.min(index + 1, samples.length));
+        }
+    }
+
+    /**
+     * @return перцентиль в наносекундах или -1, если ответов ещё мало
+     */
+    long percentile() {
+        return value;
+    }
+
+    private synchronized void recalculate(int count) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        value = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+    }
+}
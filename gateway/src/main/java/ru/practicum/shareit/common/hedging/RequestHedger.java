@@ -0,0 +1,202 @@
+package ru.practicum.shareit.common.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.ServerPath;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Повторы медленных GET-запросов к серверу: если первая попытка не ответила за перцентиль времени ответа
+ * своего раздела, отправляется вторая (на другой экземпляр, если их несколько), и берётся ответ,
+ * пришедший первым. Повторы ограничены общим бюджетом, чтобы не умножать нагрузку на упавший сервер.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.hedging", name = "enabled", havingValue = "true")
+public class RequestHedger implements DisposableBean {
+
+    private final HedgingProperties properties;
+    private final String serverUrl;
+    private final MeterRegistry meterRegistry;
+    private final HedgeBudget budget;
+    private final ConcurrentMap<String, Section> sections = new ConcurrentHashMap<>();
+
+    /**
+     * Потоки для попыток клиентов на RestTemplate; в реактивном режиме не создаются. Попыток в полёте
+     * не больше, чем соединений с сервером, поэтому и потоков не больше max-connections.
+     */
+    private final ThreadPoolExecutor executor;
+    private final Semaphore threads;
+
+    public RequestHedger(HedgingProperties properties, ShareItServerProperties serverProperties,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.serverUrl = URI.create(serverProperties.getUrl()).normalize().toString();
+        this.meterRegistry = meterRegistry;
+        this.budget = new HedgeBudget(properties.getMaxRatio());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gateway-hedge-");
+        threadFactory.setDaemon(true);
+        int maxThreads = serverProperties.getMaxConnections();
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.threads = new Semaphore(maxThreads);
+    }
+
+    /**
+     * @return раздел сервера или null, если запрос не повторяется
+     */
+    @Nullable
+    public Section section(HttpMethod method, URI uri) {
+        if (method != HttpMethod.GET) {
+            return null;
+        }
+        ServerPath path = ServerPath.of(uri, serverUrl);
+        return path == null ? null : sections.computeIfAbsent(path.getSection(), this::register);
+    }
+
+    /**
+     * Занимает поток для попытки; занятый поток освобождается {@link #supplyAsync} или {@link #releaseThread}.
+     *
+     * @return false, если заняты все потоки
+     */
+    boolean tryAcquireThread() {
+        return threads.tryAcquire();
+    }
+
+    void releaseThread() {
+        threads.release();
+    }
+
+    /**
+     * Выполняет попытку в потоке, занятом {@link #tryAcquireThread}, и освобождает его.
+     */
+    <T> CompletableFuture<T> supplyAsync(Supplier<T> attempt) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return attempt.get();
+            } finally {
+                threads.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Section register(String section) {
+        Section result = new Section(new LatencyWindow(properties.getWindow(), properties.getPercentile(),
+                properties.getMinSamples()), Tags.of("client", section.substring(1)));
+        Gauge.builder("gateway.hedging.delay", result, s -> TimeUnit.NANOSECONDS.toMicros(s.delay()) / 1000.0)
+                .description("Через сколько отправляется повтор медленного запроса")
+                .baseUnit("milliseconds")
+                .tags(result.tags)
+                .register(meterRegistry);
+        return result;
+    }
+
+    public class Section {
+
+        private final LatencyWindow latencies;
+        private final Tags tags;
+        private final Counter hedged;
+        private final Counter budgetExhausted;
+        private final Counter noThreads;
+        private final Counter primaryWins;
+        private final Counter hedgeWins;
+
+        private Section(LatencyWindow latencies, Tags tags) {
+            this.latencies = latencies;
+            this.tags = tags;
+            this.hedged = counter("gateway.hedging.hedges", "result", "sent");
+            this.budgetExhausted = counter("gateway.hedging.hedges", "result", "budget_exhausted");
+            this.noThreads = counter("gateway.hedging.hedges", "result", "no_threads");
+            this.primaryWins = counter("gateway.hedging.wins", "attempt", "primary");
+            this.hedgeWins = counter("gateway.hedging.wins", "attempt", "hedge");
+        }
+
+        /**
+         * Учитывает запрос в бюджете повторов.
+         *
+         * @return через сколько наносекунд отправлять повтор
+         */
+        public long start() {
+            budget.deposit();
+            return delay();
+        }
+
+        /**
+         * Время ответа одной попытки.
+         */
+        public void record(long nanos) {
+            latencies.record(nanos);
+        }
+
+        /**
+         * @return есть ли в бюджете повтор; без него за первой попыткой повтор не последует
+         */
+        public boolean mayHedge() {
+            return budget.hasHedge();
+        }
+
+        /**
+         * @return можно ли отправить повтор
+         */
+        public boolean tryHedge() {
+            if (!budget.tryWithdraw()) {
+                budgetExhausted.increment();
+                return false;
+            }
+            hedged.increment();
+            return true;
+        }
+
+        /**
+         * Для попытки не нашлось свободного потока.
+         */
+        public void noThreads() {
+            noThreads.increment();
+        }
+
+        /**
+         * Ответ на запрос, для которого был отправлен повтор.
+         */
+        public void answered(boolean byHedge) {
+            (byHedge ? hedgeWins : primaryWins).increment();
+        }
+
+        private long delay() {
+            long percentile = latencies.percentile();
+            return percentile < 0
+                    ? properties.getInitialDelay().toNanos()
+                    : Math.max(percentile, properties.getMinDelay().toNanos());
+        }
+
+        private Counter counter(String name, String tag, String value) {
+            return Counter.builder(name)
+                    .tags(tags)
+                    .tag(tag, value)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.common.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.BufferedResponse;
+import ru.practicum.shareit.common.ErrorResponse;
+import ru.practicum.shareit.common.ServerPath;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Адаптивные пределы одновременных запросов к серверу, отдельно для каждого клиента шлюза
+ * (раздела API). Запрос сверх предела сразу получает 503, не дожидаясь соединения из пула.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.adaptive-limit", name = "enabled", matchIfMissing = true)
+public class AdaptiveConcurrencyLimiter {
+
+    public static final String OVERLOADED_MESSAGE = "Сервер перегружен, повторите запрос позже.";
+
+    private final AdaptiveLimitProperties properties;
+    private final String serverUrl;
+    private final int maxLimit;
+    private final MeterRegistry meterRegistry;
+    private final BufferedResponse rejection;
+    private final ConcurrentMap<String, Downstream> downstreams = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(AdaptiveLimitProperties properties, ShareItServerProperties serverProperties,
+                                      MeterRegistry meterRegistry, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        this.properties = properties;
+        this.serverUrl = URI.create(serverProperties.getUrl()).normalize().toString();
+        this.maxLimit = properties.getMaxLimit() != null
+                ? properties.getMaxLimit()
+                : serverProperties.getMaxConnections();
+        this.meterRegistry = meterRegistry;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        this.rejection = new BufferedResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), headers,
+                objectMapper.writeValueAsBytes(new ErrorResponse(OVERLOADED_MESSAGE)));
+    }
+
+    /**
+     * @return место для запроса или null, если предел его раздела исчерпан
+     */
+    @Nullable
+    public Permit tryAcquire(URI uri) {
+        ServerPath path = ServerPath.of(uri, serverUrl);
+        if (path == null) {
+            return Permit.UNLIMITED;
+        }
+        Downstream downstream = downstreams.computeIfAbsent(path.getSection(), this::register);
+        if (!downstream.limit.tryAcquire()) {
+            downstream.rejected.increment();
+            return null;
+        }
+        return new Permit(downstream.limit, path.getRoute(), System.nanoTime());
+    }
+
+    /**
+     * Ответ на запрос, отклонённый {@link #tryAcquire(URI)}.
+     */
+    public BufferedResponse rejection() {
+        return rejection;
+    }
+
+    /**
+     * Сервер перегружен, если не ответил или ответил 503/504; остальные ошибки говорят о запросе, а не о нагрузке.
+     */
+    public static boolean isOverloaded(int status) {
+        return status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private Downstream register(String section) {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, maxLimit);
+        Tags tags = Tags.of("client", section.substring(1));
+        Gauge.builder("gateway.adaptive.limit", limit, AdaptiveLimit::getLimit)
+                .description("Текущий предел одновременных запросов к серверу")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.adaptive.in.flight", limit, AdaptiveLimit::getInFlight)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.adaptive.rtt", limit, l -> TimeUnit.NANOSECONDS.toMicros(l.getSmoothedRtt()) / 1000.0)
+                .description("Сглаженное время ответа сервера")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("gateway.adaptive.rtt.min", limit, l -> TimeUnit.NANOSECONDS.toMicros(l.getMinRtt()) / 1000.0)
+                .description("Минимальное время ответа самого быстрого маршрута за окно")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.adaptive.rejected")
+                .description("Запросы, отклонённые с 503 без обращения к серверу")
+                .tags(tags)
+                .register(meterRegistry);
+        return new Downstream(limit, rejected);
+    }
+
+    public static class Permit {
+
+        private static final Permit UNLIMITED = new Permit(null, null, 0);
+
+        @Nullable
+        private final AdaptiveLimit limit;
+        @Nullable
+        private final String route;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(@Nullable AdaptiveLimit limit, @Nullable String route, long start) {
+            this.limit = limit;
+            this.route = route;
+            this.start = start;
+        }
+
+        /**
+         * @param dropped сервер не ответил или {@link #isOverloaded(int) перегружен}
+         */
+        public void release(boolean dropped) {
+            if (limit != null && released.compareAndSet(false, true)) {
+                long now = System.nanoTime();
+                limit.release(route, now - start, dropped, now);
+            }
+        }
+
+        /**
+         * Освобождает место без учёта времени ответа: запрос отменён, пока ждал сервер.
+         */
+        public void cancel() {
+            if (limit != null && released.compareAndSet(false, true)) {
+                limit.cancel();
+            }
+        }
+    }
+
+    private static class Downstream {
+
+        private final AdaptiveLimit limit;
+        private final Counter rejected;
+
+        Downstream(AdaptiveLimit limit, Counter rejected) {
+            this.limit = limit;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.common.limit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD-предел одновременных запросов к одному разделу сервера. Пока время ответа близко к минимальному,
+ * предел растёт примерно на единицу за время ответа; если ответ заметно медленнее минимума, сервер не ответил
+ * или ответил 503/504, предел умножается на backoffRatio, но не чаще раза за время ответа.
+ * <p>
+ * Минимум ищется отдельно для каждого маршрута раздела: поиск по /items всегда медленнее запроса вещи по id,
+ * и сравнение с общим минимумом сжимало бы предел без всякой перегрузки.
+ */
+class AdaptiveLimit {
+
+    /**
+     * Сглаживание среднего времени ответа.
+     */
+    private static final double RTT_SMOOTHING = 0.1;
+
+    private final AdaptiveLimitProperties properties;
+    private final int maxLimit;
+    private final long minRttWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private volatile long smoothedRtt;
+    private final Map<String, RouteRtt> routes = new HashMap<>();
+    private long lastDecrease;
+
+    AdaptiveLimit(AdaptiveLimitProperties properties, int maxLimit) {
+        this.properties = properties;
+        this.maxLimit = maxLimit;
+        this.minRttWindow = properties.getMinRttWindow().toNanos();
+        this.limit = Math.min(properties.getInitialLimit(), maxLimit);
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Освобождает место, занятое {@link #tryAcquire()}, и учитывает результат запроса.
+     *
+     * @param route   {@link ru.practicum.shareit.common.ServerPath#getRoute() маршрут} запроса
+     * @param dropped сервер не ответил или ответил, что перегружен
+     */
+    synchronized void release(String route, long rtt, boolean dropped, long now) {
+        int utilized = inFlight.getAndDecrement();
+
+        RouteRtt routeRtt = routes.computeIfAbsent(route, ignored -> new RouteRtt(now));
+        if (!dropped) {
+            routeRtt.update(rtt, now, minRttWindow);
+            smoothedRtt = smoothedRtt == 0 ? rtt : (long) (smoothedRtt + RTT_SMOOTHING * (rtt - smoothedRtt));
+        }
+        boolean congested = dropped || rtt > properties.getRttTolerance() * routeRtt.effective();
+        if (congested) {
+            if (now - lastDecrease >= smoothedRtt) {
+                limit = Math.min(maxLimit, Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio()));
+                lastDecrease = now;
+            }
+        } else if (utilized * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getSmoothedRtt() {
+        return smoothedRtt;
+    }
+
+    /**
+     * @return наименьший минимум среди маршрутов раздела
+     */
+    synchronized long getMinRtt() {
+        long min = routes.values().stream()
+                .mapToLong(RouteRtt::effective)
+                .min()
+                .orElse(Long.MAX_VALUE);
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    private static class RouteRtt {
+
+        private long minRtt = Long.MAX_VALUE;
+        private long previousMinRtt = Long.MAX_VALUE;
+        private long windowStart;
+
+        RouteRtt(long now) {
+            this.windowStart = now;
+        }
+
+        /**
+         * Минимум за текущее и прошлое окно: после того как маршрут стал медленнее навсегда,
+         * старый минимум забывается и предел перестаёт сжиматься.
+         */
+        long effective() {
+            return Math.min(minRtt, previousMinRtt);
+        }
+
+        void update(long rtt, long now, long window) {
+            if (now - windowStart >= window) {
+                previousMinRtt = minRtt;
+                minRtt = Long.MAX_VALUE;
+                windowStart = now;
+            }
+            minRtt = Math.min(minRtt, rtt);
+        }
+    }
+}
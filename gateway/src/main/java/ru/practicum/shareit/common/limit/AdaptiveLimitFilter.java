@@ -0,0 +1,32 @@
+package ru.practicum.shareit.common.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} для клиентов на WebClient.
+ */
+@RequiredArgsConstructor
+public class AdaptiveLimitFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(request.url());
+            if (permit == null) {
+                return Mono.just(limiter.rejection().toClientResponse());
+            }
+            return next.exchange(request)
+                    .doOnNext(response ->
+                            permit.release(AdaptiveConcurrencyLimiter.isOverloaded(response.rawStatusCode())))
+                    .doOnError(e -> permit.release(true))
+                    .doOnCancel(permit::cancel);
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} для клиентов на RestTemplate.
+ */
+@RequiredArgsConstructor
+public class AdaptiveLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(request.getURI());
+        if (permit == null) {
+            return limiter.rejection().toClientHttpResponse();
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+        permit.release(AdaptiveConcurrencyLimiter.isOverloaded(response.getRawStatusCode()));
+        return response;
+    }
+}
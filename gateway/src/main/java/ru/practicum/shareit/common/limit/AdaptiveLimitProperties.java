@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.adaptive-limit")
+public class AdaptiveLimitProperties {
+
+    private boolean enabled = true;
+
+    @Positive
+    private int initialLimit = 20;
+
+    @Positive
+    private int minLimit = 2;
+
+    /**
+     * По умолчанию равен shareit-server.max-connections: больше пул всё равно не пропустит.
+     */
+    private Integer maxLimit;
+
+    @DecimalMin("0.1")
+    @DecimalMax("0.99")
+    private double backoffRatio = 0.9;
+
+    /**
+     * Во сколько раз ответ может быть медленнее минимального для своего маршрута, прежде чем это считается
+     * перегрузкой сервера.
+     */
+    @DecimalMin("1.1")
+    private double rttTolerance = 2.0;
+
+    /**
+     * Окно, за которое ищется минимальное время ответа.
+     */
+    private Duration minRttWindow = Duration.ofSeconds(30);
+}
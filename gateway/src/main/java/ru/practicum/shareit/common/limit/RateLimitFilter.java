@@ -0,0 +1,62 @@
+package ru.practicum.shareit.common.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.common.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RequestLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getHeader("X-Sharer-User-Id");
+        long wait = limiter.tryAcquire(request.getRequestURI(), client != null ? client : request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, RequestLimiter.RATE_LIMITED_MESSAGE,
+                    RequestLimiter.retryAfterSeconds(wait));
+            return;
+        }
+        if (!limiter.tryEnter()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, RequestLimiter.OVERLOADED_MESSAGE, 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.exit();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, long retryAfter)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(new ErrorResponse(message)));
+    }
+}
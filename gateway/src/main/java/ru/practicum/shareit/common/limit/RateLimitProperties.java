@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Сколько запросов шлюз обрабатывает одновременно, остальные получают 503.
+     * По умолчанию равно shareit-server.max-connections, чтобы не копить очередь за пулом соединений.
+     */
+    private Integer maxConcurrentRequests;
+
+    /**
+     * Группы маршрутов со своими лимитами на пользователя; запрос попадает в первую подходящую группу.
+     */
+    @Valid
+    private List<Group> groups = List.of(
+            new Group("search", List.of("/items/search"), 5, 10),
+            new Group("bookings", List.of("/bookings/**"), 20, 40),
+            new Group("default", List.of("/**"), 50, 100));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        @NotBlank
+        private String name;
+
+        /**
+         * Шаблоны путей в синтаксисе {@link org.springframework.web.util.pattern.PathPattern}.
+         */
+        @NotEmpty
+        private List<String> paths;
+
+        /**
+         * Запросов в секунду на пользователя.
+         */
+        @Positive
+        private double rate;
+
+        @Positive
+        private int burst;
+    }
+}
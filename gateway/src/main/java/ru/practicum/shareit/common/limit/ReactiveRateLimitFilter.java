@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.ErrorResponse;
+
+import java.net.InetSocketAddress;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RequestLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        if (path.startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+
+        String client = request.getHeaders().getFirst("X-Sharer-User-Id");
+        if (client == null) {
+            InetSocketAddress remoteAddress = request.getRemoteAddress();
+            client = remoteAddress != null ? remoteAddress.getHostString() : "";
+        }
+        long wait = limiter.tryAcquire(path, client);
+        if (wait > 0) {
+            return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, RequestLimiter.RATE_LIMITED_MESSAGE,
+                    RequestLimiter.retryAfterSeconds(wait));
+        }
+        if (!limiter.tryEnter()) {
+            return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, RequestLimiter.OVERLOADED_MESSAGE, 1);
+        }
+        return chain.filter(exchange).doFinally(signal -> limiter.exit());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String message, long retryAfter) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(message));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.common.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Лимиты входящих запросов шлюза: токен-бакет на пользователя в каждой группе маршрутов
+ * и общий предел одновременных запросов.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", matchIfMissing = true)
+public class RequestLimiter {
+
+    public static final String RATE_LIMITED_MESSAGE = "Слишком много запросов, повторите позже.";
+
+    public static final String OVERLOADED_MESSAGE = "Шлюз перегружен, повторите запрос позже.";
+
+    /**
+     * Бакетов в группе не больше этого. Вытесняются редкие клиенты; бакет, простоявший дольше
+     * burst / rate, всё равно полон, поэтому срок жизни бакетам не нужен.
+     */
+    private static final long MAX_BUCKETS = 100_000;
+
+    private final List<RouteGroup> groups;
+    private final int maxConcurrentRequests;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shed;
+
+    public RequestLimiter(RateLimitProperties properties, ShareItServerProperties serverProperties,
+                          MeterRegistry meterRegistry) {
+        this.groups = properties.getGroups().stream()
+                .map(group -> new RouteGroup(group, meterRegistry))
+                .collect(Collectors.toList());
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests() != null
+                ? properties.getMaxConcurrentRequests()
+                : serverProperties.getMaxConnections();
+        this.shed = Counter.builder("gateway.load.shed")
+                .description("Запросы, отклонённые с 503 из-за предела одновременных запросов")
+                .register(meterRegistry);
+        Gauge.builder("gateway.requests.in.flight", inFlight, AtomicInteger::get)
+                .description("Запросы, которые шлюз обрабатывает сейчас")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param client X-Sharer-User-Id или адрес клиента, если заголовка нет
+     * @return 0, если запрос укладывается в лимит группы, иначе через сколько наносекунд повторить
+     */
+    public long tryAcquire(String path, String client) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (RouteGroup group : groups) {
+            if (group.matches(pathContainer)) {
+                return group.tryAcquire(client);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Каждому успешному вызову должен соответствовать {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        if (inFlight.incrementAndGet() > maxConcurrentRequests) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Значение Retry-After: целые секунды, не меньше одной.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static class RouteGroup {
+
+        private final List<PathPattern> paths;
+        private final long emissionInterval;
+        private final int burst;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        RouteGroup(RateLimitProperties.Group group, MeterRegistry meterRegistry) {
+            this.paths = group.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .collect(Collectors.toList());
+            this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / group.getRate());
+            this.burst = group.getBurst();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(MAX_BUCKETS)
+                    .build();
+            this.rejected = Counter.builder("gateway.rate.limit.rejected")
+                    .description("Запросы, отклонённые с 429 лимитом пользователя")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+        }
+
+        boolean matches(PathContainer path) {
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long tryAcquire(String client) {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.getIfPresent(client);
+            if (bucket == null) {
+                bucket = buckets.get(client, key -> new TokenBucket(emissionInterval, burst, now));
+            }
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                rejected.increment();
+            }
+            return wait;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.common.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Токен-бакет без блокировок в форме GCRA: вместо числа токенов хранится момент, к которому бакет
+ * опустеет при текущем темпе запросов, и каждый запрос сдвигает его одним compareAndSet.
+ */
+class TokenBucket {
+
+    private final long emissionInterval;
+    private final long capacity;
+    private final AtomicLong emptyAt;
+
+    /**
+     * @param emissionInterval наносекунд на один токен
+     * @param burst            сколько запросов можно сделать подряд из полного бакета
+     */
+    TokenBucket(long emissionInterval, int burst, long now) {
+        this.emissionInterval = emissionInterval;
+        this.capacity = emissionInterval * burst;
+        this.emptyAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0, если токен взят, иначе через сколько наносекунд он появится
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = emptyAt.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
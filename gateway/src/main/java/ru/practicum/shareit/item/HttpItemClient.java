@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+import ru.practicum.shareit.item.dto.AvailabilityWindow;
+import ru.practicum.shareit.item.dto.CommentFromRequest;
+import ru.practicum.shareit.item.dto.HoldRequestDto;
+import ru.practicum.shareit.item.dto.ItemFromRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!" + InProcessClient.PROFILE)
+public class HttpItemClient extends BaseClient implements ItemClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public HttpItemClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory shareItServerRequestFactory) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                properties.isPassThrough()
+        );
+    }
+
+    @Override
+    public ResponseEntity<Object> add(long userId, ItemFromRequest itemFromRequest) {
+        return post("", userId, itemFromRequest);
+    }
+
+    @Override
+    public ResponseEntity<Object> getByItemId(long userId, Long itemId) {
+        return get("/{itemId}", userId, Map.of("itemId", itemId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllByOwnerId(long userId, int from, int size) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    @Override
+    public ResponseEntity<Object> update(long userId, Long itemId, ItemFromRequest itemFromRequest) {
+        return patch("/{itemId}", userId, Map.of("itemId", itemId), itemFromRequest);
+    }
+
+    @Override
+    public ResponseEntity<Object> search(String text, int from, int size) {
+        return get("/search?text={text}&from={from}&size={size}",
+                null,
+                Map.of("text", text, "from", from, "size", size));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAvailability(Long itemId, AvailabilityWindow window) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("itemId", itemId);
+        return get(window.toPath(parameters), null, parameters);
+    }
+
+    @Override
+    public ResponseEntity<Object> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end, int from,
+                                                    int size) {
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}",
+                null,
+                Map.of("text", text, "start", start, "end", end, "from", from, "size", size));
+    }
+
+    @Override
+    public ResponseEntity<Object> hold(long userId, Long itemId, HoldRequestDto holdRequestDto) {
+        return post("/{itemId}/holds", userId, Map.of("itemId", itemId), holdRequestDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> confirmHold(long userId, Long itemId, Long holdId) {
+        return post("/{itemId}/holds/{holdId}/confirm", userId, Map.of("itemId", itemId, "holdId", holdId), null);
+    }
+
+    @Override
+    public ResponseEntity<Object> releaseHold(long userId, Long itemId, Long holdId) {
+        return delete("/{itemId}/holds/{holdId}", userId, Map.of("itemId", itemId, "holdId", holdId));
+    }
+
+    @Override
+    public ResponseEntity<Object> addComment(long userId, Long itemId, CommentFromRequest commentFromRequest) {
+        return post("/{itemId}/comment", userId, Map.of("itemId", itemId), commentFromRequest);
+    }
+}
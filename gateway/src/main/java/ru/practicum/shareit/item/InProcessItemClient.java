@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.booking.service.BookingHoldService;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.item.dto.AvailabilityWindow;
+import ru.practicum.shareit.item.dto.CommentFromRequest;
+import ru.practicum.shareit.item.dto.HoldRequestDto;
+import ru.practicum.shareit.item.dto.ItemFromRequest;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile(InProcessClient.PROFILE)
+@RequiredArgsConstructor
+public class InProcessItemClient extends InProcessClient implements ItemClient {
+
+    private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final BookingHoldService bookingHoldService;
+    private final ItemMapper itemMapper;
+    private final CommentMapper commentMapper;
+
+    @Override
+    public ResponseEntity<Object> add(long userId, ItemFromRequest itemFromRequest) {
+        return call(() -> itemService.add(userId, itemMapper.toItem(itemFromRequest)));
+    }
+
+    @Override
+    public ResponseEntity<Object> getByItemId(long userId, Long itemId) {
+        return call(() -> itemService.getByItemId(itemId, userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllByOwnerId(long userId, int from, int size) {
+        return call(() -> itemService.getAllByOwnerId(userId, from, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> update(long userId, Long itemId, ItemFromRequest itemFromRequest) {
+        return call(() -> itemService.update(itemId, userId, itemMapper.toItem(itemFromRequest)));
+    }
+
+    @Override
+    public ResponseEntity<Object> search(String text, int from, int size) {
+        return call(() -> itemService.search(text, from, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end, int from,
+                                                    int size) {
+        return call(() -> itemService.searchFreeBetween(text, start, end, from, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAvailability(Long itemId, AvailabilityWindow window) {
+        return call(() -> itemAvailabilityService.getFreeSlots(itemId, window.getFrom(), window.getTo()));
+    }
+
+    @Override
+    public ResponseEntity<Object> hold(long userId, Long itemId, HoldRequestDto holdRequestDto) {
+        BookingHoldFromRequest bookingHoldFromRequest = BookingHoldFromRequest.builder()
+                .start(holdRequestDto.getStart())
+                .end(holdRequestDto.getEnd())
+                .ttlSeconds(holdRequestDto.getTtlSeconds())
+                .build();
+        return call(() -> bookingHoldService.hold(itemId, userId, bookingHoldFromRequest));
+    }
+
+    @Override
+    public ResponseEntity<Object> confirmHold(long userId, Long itemId, Long holdId) {
+        return call(() -> bookingHoldService.confirm(itemId, holdId, userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> releaseHold(long userId, Long itemId, Long holdId) {
+        return call(() -> {
+            bookingHoldService.release(itemId, holdId, userId);
+            return null;
+        });
+    }
+
+    @Override
+    public ResponseEntity<Object> addComment(long userId, Long itemId, CommentFromRequest commentFromRequest) {
+        return call(() -> itemService.addComment(itemId, commentMapper.toComment(commentFromRequest), userId));
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.AvailabilityWindow;
+import ru.practicum.shareit.item.dto.CommentFromRequest;
+import ru.practicum.shareit.item.dto.HoldRequestDto;
+import ru.practicum.shareit.item.dto.ItemFromRequest;
+import ru.practicum.shareit.common.ReactiveBaseClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(ShareItServerProperties properties, WebClient.Builder builder,
+                              ClientHttpConnector shareItServerConnector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> add(long userId, ItemFromRequest itemFromRequest) {
+        return post("", userId, itemFromRequest);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByItemId(long userId, Long itemId) {
+        return get("/{itemId}", userId, Map.of("itemId", itemId));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllByOwnerId(long userId, int from, int size) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<byte[]>> update(long userId, Long itemId, ItemFromRequest itemFromRequest) {
+        return patch("/{itemId}", userId, Map.of("itemId", itemId), itemFromRequest);
+    }
+
+    public Mono<ResponseEntity<byte[]>> search(String text, int from, int size) {
+        return get("/search?text={text}&from={from}&size={size}",
+                null,
+                Map.of("text", text, "from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<byte[]>> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end, int from,
+                                                               int size) {
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}",
+                null,
+                Map.of("text", text, "start", start, "end", end, "from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAvailability(Long itemId, AvailabilityWindow window) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("itemId", itemId);
+        return get(window.toPath(parameters), null, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> hold(long userId, Long itemId, HoldRequestDto holdRequestDto) {
+        return post("/{itemId}/holds", userId, Map.of("itemId", itemId), holdRequestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> confirmHold(long userId, Long itemId, Long holdId) {
+        return post("/{itemId}/holds/{holdId}/confirm", userId, Map.of("itemId", itemId, "holdId", holdId), null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> releaseHold(long userId, Long itemId, Long holdId) {
+        return delete("/{itemId}/holds/{holdId}", userId, Map.of("itemId", itemId, "holdId", holdId));
+    }
+
+    public Mono<ResponseEntity<byte[]>> addComment(long userId, Long itemId, CommentFromRequest commentFromRequest) {
+        return post("/{itemId}/comment", userId, Map.of("itemId", itemId), commentFromRequest);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.AvailabilityWindow;
+import ru.practicum.shareit.item.dto.CommentFromRequest;
+import ru.practicum.shareit.item.dto.HoldRequestDto;
+import ru.practicum.shareit.item.dto.ItemFromRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> add(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @Valid @RequestBody ItemFromRequest itemFromRequest) {
+        return itemClient.add(userId, itemFromRequest);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> getItemById(@PathVariable Long itemId,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemClient.getByItemId(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllByOwnerId(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "from", defaultValue = "0")
+            @PositiveOrZero(message = "Параметр начала не может быть отрицательным") int from,
+            @RequestParam(name = "size", defaultValue = "10")
+            @Positive(message = "Параметр размера страницы должен быть больше 0") int size) {
+        return itemClient.getAllByOwnerId(userId, from, size);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> update(@PathVariable Long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody ItemFromRequest itemFromRequest) {
+        return itemClient.update(userId, itemId, itemFromRequest);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<byte[]>> search(
+            @RequestParam("text") String text,
+            @RequestParam(name = "start", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(name = "from", defaultValue = "0")
+            @PositiveOrZero(message = "Параметр начала не может быть отрицательным") int from,
+            @RequestParam(name = "size", defaultValue = "10")
+            @Positive(message = "Параметр размера страницы должен быть больше 0") int size) {
+        if (start == null && end == null) {
+            return itemClient.search(text, from, size);
+        }
+        AvailabilityWindow window = AvailabilityWindow.ofPeriod(start, end);
+        return itemClient.searchFreeBetween(text, window.getFrom(), window.getTo(), from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(itemId, AvailabilityWindow.of(from, to));
+    }
+
+    @PostMapping("/{itemId}/holds")
+    public Mono<ResponseEntity<byte[]>> hold(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
+                                             @Valid @RequestBody HoldRequestDto holdRequestDto) {
+        return itemClient.hold(userId, itemId, holdRequestDto);
+    }
+
+    @PostMapping("/{itemId}/holds/{holdId}/confirm")
+    public Mono<ResponseEntity<byte[]>> confirmHold(@PathVariable Long itemId, @PathVariable Long holdId,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemClient.confirmHold(userId, itemId, holdId);
+    }
+
+    @DeleteMapping("/{itemId}/holds/{holdId}")
+    public Mono<ResponseEntity<byte[]>> releaseHold(@PathVariable Long itemId, @PathVariable Long holdId,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemClient.releaseHold(userId, itemId, holdId);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<byte[]>> addComment(@PathVariable Long itemId,
+                                                   @Valid @RequestBody CommentFromRequest commentFromRequest,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemClient.addComment(userId, itemId, commentFromRequest);
+    }
+}
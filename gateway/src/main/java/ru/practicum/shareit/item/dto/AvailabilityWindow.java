@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Окно, в котором ищется свободное время вещи. Незаданные границы сервер выбирает сам.
+ */
+@Value
+public class AvailabilityWindow {
+
+    @Nullable
+    LocalDateTime from;
+
+    @Nullable
+    LocalDateTime to;
+
+    public static AvailabilityWindow of(@Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше его окончания.");
+        }
+        return new AvailabilityWindow(from, to);
+    }
+
+    /**
+     * Период поиска свободных вещей: в отличие от окна свободного времени, обе границы обязательны.
+     */
+    public static AvailabilityWindow ofPeriod(@Nullable LocalDateTime start, @Nullable LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Период должен быть задан началом и окончанием.");
+        }
+        return of(start, end);
+    }
+
+    /**
+     * Путь запроса к серверу в виде шаблона URI; значения добавляются в parameters.
+     */
+    public String toPath(Map<String, Object> parameters) {
+        StringBuilder path = new StringBuilder("/{itemId}/availability");
+        String separator = "?";
+        if (from != null) {
+            path.append(separator).append("from={from}");
+            parameters.put("from", from);
+            separator = "&";
+        }
+        if (to != null) {
+            path.append(separator).append("to={to}");
+            parameters.put("to", to);
+        }
+        return path.toString();
+    }
+}
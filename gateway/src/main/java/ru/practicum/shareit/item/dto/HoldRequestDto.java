@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Future;
+import javax.validation.constraints.FutureOrPresent;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequestDto {
+
+    @NotNull(message = "Дата начала не может быть пустой.")
+    @FutureOrPresent(message = "Дата начала не может быть в прошлом.")
+    private LocalDateTime start;
+
+    @NotNull(message = "Дата окончания не может быть пустой.")
+    @Future(message = "Дата окончания должна быть в будущем.")
+    private LocalDateTime end;
+
+    @Positive(message = "Срок удержания должен быть больше 0.")
+    private Integer ttlSeconds;
+}
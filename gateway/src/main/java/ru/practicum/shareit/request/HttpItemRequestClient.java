@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+import ru.practicum.shareit.request.dto.ItemRequestFromRequest;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!" + InProcessClient.PROFILE)
+public class HttpItemRequestClient extends BaseClient implements ItemRequestClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public HttpItemRequestClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                                 ClientHttpRequestFactory shareItServerRequestFactory) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                properties.isPassThrough()
+        );
+    }
+
+    @Override
+    public ResponseEntity<Object> add(long userId, ItemRequestFromRequest itemRequestFromRequest) {
+        return post("", userId, itemRequestFromRequest);
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllByUserId(long userId) {
+        return get("", userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> getAll(long userId, int from, int size) {
+        return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    @Override
+    public ResponseEntity<Object> getById(long userId, Long requestId) {
+        return get("/{requestId}", userId, Map.of("requestId", requestId));
+    }
+}
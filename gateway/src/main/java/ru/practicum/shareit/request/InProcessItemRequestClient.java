@@ -0,0 +1,40 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.request.dto.ItemRequestFromRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile(InProcessClient.PROFILE)
+@RequiredArgsConstructor
+public class InProcessItemRequestClient extends InProcessClient implements ItemRequestClient {
+
+    private final ItemRequestService itemRequestService;
+    private final ItemRequestMapper itemRequestMapper;
+
+    @Override
+    public ResponseEntity<Object> add(long userId, ItemRequestFromRequest itemRequestFromRequest) {
+        return call(() -> itemRequestService.add(userId, itemRequestMapper.toItemRequest(itemRequestFromRequest)));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllByUserId(long userId) {
+        return call(() -> itemRequestService.getAllByUserId(userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAll(long userId, int from, int size) {
+        return call(() -> itemRequestService.getAll(userId, from, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> getById(long userId, Long requestId) {
+        return call(() -> itemRequestService.getById(userId, requestId));
+    }
+}
@@ -1,45 +1,15 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.common.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestFromRequest;
 
-import java.util.Map;
+public interface ItemRequestClient {
 
-@Service
-public class ItemRequestClient extends BaseClient {
+    ResponseEntity<Object> add(long userId, ItemRequestFromRequest itemRequestFromRequest);
 
-    private static final String API_PREFIX = "/requests";
+    ResponseEntity<Object> getAllByUserId(long userId);
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
-    }
+    ResponseEntity<Object> getAll(long userId, int from, int size);
 
-    public ResponseEntity<Object> add(long userId, ItemRequestFromRequest itemRequestFromRequest) {
-        return post("", userId, itemRequestFromRequest);
-    }
-
-    public ResponseEntity<Object> getAllByUserId(long userId) {
-        return get("", userId);
-    }
-
-    public ResponseEntity<Object> getAll(long userId, int from, int size) {
-        return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
-    }
-
-    public ResponseEntity<Object> getById(long userId, Long requestId) {
-        return get("/{requestId}", userId, Map.of("requestId", requestId));
-    }
+    ResponseEntity<Object> getById(long userId, Long requestId);
 }
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestFromRequest;
+import ru.practicum.shareit.common.ReactiveBaseClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(ShareItServerProperties properties, WebClient.Builder builder,
+                                     ClientHttpConnector shareItServerConnector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> add(long userId, ItemRequestFromRequest itemRequestFromRequest) {
+        return post("", userId, itemRequestFromRequest);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllByUserId(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAll(long userId, int from, int size) {
+        return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getById(long userId, Long requestId) {
+        return get("/{requestId}", userId, Map.of("requestId", requestId));
+    }
+}
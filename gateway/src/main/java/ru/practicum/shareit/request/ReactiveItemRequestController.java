@@ -0,0 +1,51 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestFromRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemRequestController {
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> add(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @Valid ItemRequestFromRequest itemRequestFromRequest) {
+        return itemRequestClient.add(userId, itemRequestFromRequest);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemRequestClient.getAllByUserId(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<byte[]>> getAll(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "from", defaultValue = "0")
+            @PositiveOrZero(message = "Параметр начала не может быть отрицательным") int from,
+            @RequestParam(name = "size", defaultValue = "10")
+            @Positive(message = "Параметр размера страницы должен быть больше 0") int size) {
+        return itemRequestClient.getAll(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<byte[]>> getById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @PathVariable Long requestId) {
+        return itemRequestClient.getById(userId, requestId);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+import ru.practicum.shareit.user.dto.UserRequest;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!" + InProcessClient.PROFILE)
+public class HttpUserClient extends BaseClient implements UserClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public HttpUserClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory shareItServerRequestFactory) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                properties.isPassThrough()
+        );
+    }
+
+    @Override
+    public ResponseEntity<Object> add(UserRequest userRequest) {
+        return post("", userRequest);
+    }
+
+    @Override
+    public ResponseEntity<Object> getByUserId(long userId) {
+        return get("/{userId}", null, Map.of("userId", Long.toString(userId)));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAll() {
+        return get("");
+    }
+
+    @Override
+    public ResponseEntity<Object> update(long userId, UserRequest userRequest) {
+        return patch("/" + userId, userRequest);
+    }
+
+    @Override
+    public ResponseEntity<Object> delete(long userId) {
+        return delete("/{userId}", null, Map.of("userId", Long.toString(userId)));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.InProcessClient;
+import ru.practicum.shareit.user.dto.UserRequest;
+import ru.practicum.shareit.user.service.UserService;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile(InProcessClient.PROFILE)
+@RequiredArgsConstructor
+public class InProcessUserClient extends InProcessClient implements UserClient {
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+
+    @Override
+    public ResponseEntity<Object> add(UserRequest userRequest) {
+        return call(() -> userService.add(userMapper.toUser(userRequest)));
+    }
+
+    @Override
+    public ResponseEntity<Object> getByUserId(long userId) {
+        return call(() -> userService.getByUserId(userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAll() {
+        return call(userService::getAll);
+    }
+
+    @Override
+    public ResponseEntity<Object> update(long userId, UserRequest userRequest) {
+        return call(() -> userService.update(userId, userMapper.toUser(userRequest)));
+    }
+
+    @Override
+    public ResponseEntity<Object> delete(long userId) {
+        return call(() -> {
+            userService.delete(userId);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserRequest;
+import ru.practicum.shareit.common.ReactiveBaseClient;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(ShareItServerProperties properties, WebClient.Builder builder,
+                              ClientHttpConnector shareItServerConnector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> add(UserRequest userRequest) {
+        return post("", userRequest);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getByUserId(long userId) {
+        return get("/{userId}", null, Map.of("userId", userId));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<byte[]>> update(long userId, UserRequest userRequest) {
+        return patch("/{userId}", null, Map.of("userId", userId), userRequest);
+    }
+
+    public Mono<ResponseEntity<byte[]>> delete(long userId) {
+        return delete("/{userId}", null, Map.of("userId", userId));
+    }
+}
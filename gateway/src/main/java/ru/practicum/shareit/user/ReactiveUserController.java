@@ -0,0 +1,47 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserRequest;
+
+import javax.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> add(@Valid @RequestBody UserRequest userRequest) {
+        return userClient.add(userRequest);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> getByUserId(@PathVariable long userId) {
+        return userClient.getByUserId(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAll() {
+        return userClient.getAll();
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> update(@PathVariable Long userId, @RequestBody UserRequest userRequest) {
+        return userClient.update(userId, userRequest);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> delete(@PathVariable Long userId) {
+        return userClient.delete(userId);
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.common.InProcessClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.GatewayLoadComparison.GATEWAY_ARGS;
+import static ru.practicum.shareit.GatewayLoadComparison.concat;
+
+/**
+ * Сравнение шлюза перед сервером по HTTP и шлюза с сервером в одном процессе (профиль in-process)
+ * на одной смеси запросов. В HTTP-режиме сервер запускается из своего jar отдельным процессом на H2,
+ * в in-process - та же H2 внутри шлюза. Кеш, склейка, лимиты и предохранитель шлюза выключены, чтобы мерить
+ * только транспорт.
+ * Запуск после mvn install: {@code java -cp target/test-classes:target/classes:<classpath>
+ * ru.practicum.shareit.GatewayInProcessComparison [concurrency] [seconds] [server jar]}.
+ */
+public class GatewayInProcessComparison {
+
+    private static final int USERS = 20;
+    private static final int ITEMS_PER_USER = 5;
+
+    private static final String[] H2_ARGS = {
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.url=jdbc:h2:mem:shareit",
+            "--spring.datasource.username=test",
+            "--spring.datasource.password=test",
+            "--spring.flyway.locations=classpath:db/migration/common",
+            "--shareit.item.search.mode=like"};
+
+    private static final HttpClient SEED_CLIENT = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        File serverJar = new File(args.length > 2 ? args[2] : "../server/target/server-0.0.1-SNAPSHOT.jar");
+
+        int serverPort = freePort();
+        Process server = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-jar", serverJar.getPath(), "--spring.profiles.active=test", "--server.port=" + serverPort,
+                "--logging.level.root=WARN")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            awaitServer(serverPort);
+            ConfigurableApplicationContext http = new SpringApplicationBuilder(ShareItGateway.class)
+                    .web(WebApplicationType.SERVLET)
+                    .run(concat(GATEWAY_ARGS, "--shareit-server.url=http://localhost:" + serverPort));
+            measure("http", http, concurrency, seconds);
+        } finally {
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+
+        ConfigurableApplicationContext inProcess = new SpringApplicationBuilder(ShareItGateway.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(InProcessClient.PROFILE)
+                .run(concat(GATEWAY_ARGS, H2_ARGS));
+        measure(InProcessClient.PROFILE, inProcess, concurrency, seconds);
+    }
+
+    private static void measure(String mode, ConfigurableApplicationContext gateway, int concurrency, int seconds)
+            throws Exception {
+        try {
+            String base = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+            seed(base);
+            GatewayLoadComparison.run(new TrafficMix(base, new Random(42)), concurrency, Math.max(seconds / 4, 3));
+            GatewayLoadComparison.Result result = GatewayLoadComparison.run(new TrafficMix(base, new Random(42)),
+                    concurrency, seconds);
+            System.out.printf("%-10s concurrency=%d: %.0f req/s, p50=%d ms, p99=%d ms, errors=%d%n",
+                    mode, concurrency, result.throughput, result.p50, result.p99, result.errors);
+        } finally {
+            gateway.close();
+        }
+    }
+
+    /**
+     * USERS пользователей, у каждого ITEMS_PER_USER вещей; каждый бронирует по вещи у двух соседей
+     * и оставляет запрос вещи. Id в свежей базе идут с единицы.
+     */
+    private static void seed(String base) throws Exception {
+        for (int user = 1; user <= USERS; user++) {
+            send(base, "POST", "/users", null,
+                    "{\"name\":\"user" + user + "\",\"email\":\"user" + user + "@mail.ru\"}");
+        }
+        for (int user = 1; user <= USERS; user++) {
+            for (int item = 0; item < ITEMS_PER_USER; item++) {
+                send(base, "POST", "/items", user,
+                        "{\"name\":\"Item " + user + "-" + item + "\",\"description\":\"drill " + item
+                                + "\",\"available\":true}");
+            }
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int user = 1; user <= USERS; user++) {
+            for (int neighbour = 1; neighbour <= 2; neighbour++) {
+                long item = ((user + neighbour - 1) % USERS) * ITEMS_PER_USER + neighbour;
+                send(base, "POST", "/bookings", user,
+                        "{\"itemId\":" + item + ",\"start\":\"" + start.plusDays(neighbour) + "\",\"end\":\""
+                                + start.plusDays(neighbour + 1) + "\"}");
+            }
+            send(base, "POST", "/requests", user, "{\"description\":\"need a drill\"}");
+        }
+    }
+
+    private static void send(String base, String method, String path, Integer userId, String body)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        HttpResponse<String> response = SEED_CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(method + " " + path + ": " + response.statusCode() + " "
+                    + response.body());
+        }
+    }
+
+    private static void awaitServer(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users")).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (SEED_CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Сервер не запустился на порту " + port);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Смесь запросов: в основном чтение вещей, пользователей и бронирований, немного поиска и записи.
+     */
+    private static class TrafficMix implements Supplier<HttpRequest> {
+
+        private final String base;
+        private final List<String> paths = new ArrayList<>();
+        private final Random random;
+
+        TrafficMix(String base, Random random) {
+            this.base = base;
+            this.random = random;
+            weight(40, "/items/{item}");
+            weight(15, "/users/{user}");
+            weight(20, "/bookings?state=ALL&size=10");
+            weight(10, "/items/search?text=drill&size=10");
+            weight(10, "/requests/all?from=0&size=10");
+            weight(5, "POST /requests");
+        }
+
+        private void weight(int weight, String path) {
+            for (int i = 0; i < weight; i++) {
+                paths.add(path);
+            }
+        }
+
+        @Override
+        public synchronized HttpRequest get() {
+            String path = paths.get(random.nextInt(paths.size()));
+            int user = 1 + random.nextInt(USERS);
+            long item = 1 + random.nextInt(USERS * ITEMS_PER_USER);
+
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .header("X-Sharer-User-Id", String.valueOf(user))
+                    .header("Content-Type", "application/json");
+            if (path.startsWith("POST ")) {
+                return request.uri(URI.create(base + path.substring("POST ".length())))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"need item "
+                                + random.nextInt() + "\"}"))
+                        .build();
+            }
+            return request.uri(URI.create(base + path
+                            .replace("{item}", String.valueOf(item))
+                            .replace("{user}", String.valueOf(user))))
+                    .GET()
+                    .build();
+        }
+    }
+}
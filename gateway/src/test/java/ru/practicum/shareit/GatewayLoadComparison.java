@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочное сравнение servlet- и reactive-режима шлюза перед медленным сервером.
+ * Сервер заменён заглушкой, которая отвечает на любой запрос через {@code delay} мс. Кеш, склейка, лимиты
+ * и предохранитель шлюза выключены: иначе они, а не режим шлюза, определяют результат.
+ * Запуск: {@code java -cp target/test-classes:target/classes:<classpath> ru.practicum.shareit.GatewayLoadComparison
+ * [delayMs] [concurrency] [seconds]}.
+ */
+public class GatewayLoadComparison {
+
+    /**
+     * Шлюз без слоёв, которые отвечают сами или отклоняют запросы, не дойдя до сервера.
+     */
+    static final String[] GATEWAY_ARGS = {
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--shareit-gateway.cache.enabled=false",
+            "--shareit-gateway.coalescing.enabled=false",
+            "--shareit-gateway.rate-limit.enabled=false",
+            "--shareit-gateway.adaptive-limit.enabled=false",
+            "--shareit-gateway.circuit-breaker.enabled=false"};
+
+    private static final byte[] STUB_BODY = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int delay = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        HttpServer stub = startStub(delay, concurrency);
+        try {
+            for (WebApplicationType type : new WebApplicationType[]{WebApplicationType.SERVLET,
+                    WebApplicationType.REACTIVE}) {
+                ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                        .web(type)
+                        .run(concat(GATEWAY_ARGS,
+                                "--shareit-server.url=http://localhost:" + stub.getAddress().getPort(),
+                                "--shareit-server.max-connections=" + concurrency * 2));
+                try {
+                    int port = Integer.parseInt(gateway.getEnvironment().getProperty("local.server.port"));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                            .header("X-Sharer-User-Id", "1")
+                            .GET()
+                            .build();
+                    run(() -> request, concurrency, Math.max(seconds / 4, 3));
+                    Result result = run(() -> request, concurrency, seconds);
+                    System.out.printf("%-8s delay=%dms concurrency=%d: %.0f req/s, p50=%d ms, p99=%d ms, errors=%d%n",
+                            type, delay, concurrency, result.throughput, result.p50, result.p99, result.errors);
+                } finally {
+                    gateway.close();
+                }
+            }
+        } finally {
+            stub.stop(0);
+            ((ExecutorService) stub.getExecutor()).shutdownNow();
+        }
+    }
+
+    private static HttpServer startStub(int delay, int concurrency) throws Exception {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), concurrency * 2);
+        stub.setExecutor(Executors.newFixedThreadPool(concurrency * 2));
+        stub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_BODY);
+            }
+        });
+        stub.start();
+        return stub;
+    }
+
+    /**
+     * Держит concurrency запросов в полёте seconds секунд; ответ не 2xx считается ошибкой.
+     */
+    static Result run(Supplier<HttpRequest> requests, int concurrency, int seconds) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            if (!inFlight.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (e != null || response.statusCode() / 100 != 2) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies.add(System.nanoTime() - sent);
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length * 1e9 / elapsed, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                errors.get());
+    }
+
+    static String[] concat(String[] first, String... second) {
+        String[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(index, 0)]);
+    }
+
+    @RequiredArgsConstructor
+    static class Result {
+        final double throughput;
+        final long p50;
+        final long p99;
+        final long errors;
+    }
+}
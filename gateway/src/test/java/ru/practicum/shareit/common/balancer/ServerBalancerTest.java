@@ -0,0 +1,230 @@
+package ru.practicum.shareit.common.balancer;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Экземпляры сервера - локальные HTTP-серверы, которые отвечают на проверку здоровья заданным статусом.
+ * Проверка запускается из теста, а не по расписанию.
+ */
+class ServerBalancerTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private static final int CHOICES = 100;
+
+    List<HttpServer> servers;
+
+    List<AtomicInteger> healthStatuses;
+
+    ShareItServerProperties properties;
+
+    ServerBalancer balancer;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        servers = new ArrayList<>();
+        healthStatuses = new ArrayList<>();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AtomicInteger status = new AtomicInteger(200);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/actuator/health", exchange -> {
+                exchange.sendResponseHeaders(status.get(), -1);
+                exchange.close();
+            });
+            server.start();
+            servers.add(server);
+            healthStatuses.add(status);
+            urls.add("http://localhost:" + server.getAddress().getPort());
+        }
+
+        properties = new ShareItServerProperties();
+        properties.setUrl(SERVER_URL);
+        properties.setUrls(urls);
+        properties.setWriterUrl(urls.get(0));
+        properties.setWriterPaths(List.of("/items/*/availability", "/bookings/owner/summary"));
+        properties.setEjectAfterErrors(3);
+        properties.getHealthCheck().setInterval(Duration.ofHours(1));
+        balancer = new ServerBalancer(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void afterEach() {
+        balancer.destroy();
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void constructor_whenWriterUrlMissingOrUnknown_thenIllegalState() {
+        properties.setWriterUrl(null);
+        assertThrows(IllegalStateException.class, () -> new ServerBalancer(properties, new SimpleMeterRegistry()));
+
+        properties.setWriterUrl("http://localhost:1");
+        assertThrows(IllegalStateException.class, () -> new ServerBalancer(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void choose_whenUriNotOnServer_thenNull() {
+        assertNull(balancer.choose(URI.create("http://localhost:8080/items/1"), HttpMethod.GET, null));
+    }
+
+    @Test
+    void choose_whenWriteOrWriterPath_thenWriter() {
+        ServerEndpoint writer = endpoint(0);
+
+        for (HttpMethod method : List.of(HttpMethod.POST, HttpMethod.PATCH, HttpMethod.PUT, HttpMethod.DELETE)) {
+            assertSame(writer, choose("/bookings", method));
+        }
+        for (int i = 0; i < CHOICES; i++) {
+            assertSame(writer, choose("/items/1/availability?from=2100-01-01T00:00:00", HttpMethod.GET));
+            assertSame(writer, choose("/bookings/owner/summary", HttpMethod.GET));
+        }
+    }
+
+    @Test
+    void choose_whenRead_thenAllInstances() {
+        Set<String> chosen = new HashSet<>();
+        for (int i = 0; i < CHOICES; i++) {
+            ServerEndpoint endpoint = choose("/items/1", HttpMethod.GET);
+            chosen.add(endpoint.getUrl());
+            balancer.release(endpoint, false);
+        }
+
+        assertEquals(Set.copyOf(properties.getUrls()), chosen);
+    }
+
+    @Test
+    void choose_whenInstanceBusiest_thenNeverChosen() {
+        ServerEndpoint busiest = endpoint(1);
+        busiest.start();
+        busiest.start();
+        endpoint(2).start();
+
+        for (int i = 0; i < CHOICES; i++) {
+            ServerEndpoint endpoint = choose("/items/1", HttpMethod.GET);
+            assertNotSame(busiest, endpoint);
+            balancer.cancel(endpoint);
+        }
+    }
+
+    @Test
+    void choose_whenNextAttempt_thenOtherInstance() {
+        for (int i = 0; i < CHOICES; i++) {
+            AttemptRouting routing = new AttemptRouting();
+            ServerEndpoint first = balancer.choose(uri("/items/1"), HttpMethod.GET, routing);
+            ServerEndpoint second = balancer.choose(uri("/items/1"), HttpMethod.GET, routing);
+
+            assertNotSame(first, second);
+            balancer.cancel(first);
+            balancer.cancel(second);
+        }
+    }
+
+    @Test
+    void release_whenConsecutiveErrors_thenEjectedFromReads() {
+        ServerEndpoint failing = endpoint(1);
+        for (int i = 0; i < 2; i++) {
+            failing.start();
+            balancer.release(failing, true);
+        }
+        failing.start();
+        balancer.release(failing, false);
+        assertFalse(failing.isEjected());
+
+        for (int i = 0; i < 3; i++) {
+            failing.start();
+            balancer.release(failing, true);
+        }
+
+        assertTrue(failing.isEjected());
+        for (int i = 0; i < CHOICES; i++) {
+            ServerEndpoint endpoint = choose("/items/1", HttpMethod.GET);
+            assertNotSame(failing, endpoint);
+            balancer.cancel(endpoint);
+        }
+    }
+
+    @Test
+    void choose_whenWriterEjected_thenWritesStillGoToWriter() {
+        ServerEndpoint writer = endpoint(0);
+        writer.eject();
+
+        assertSame(writer, choose("/items", HttpMethod.POST));
+        for (int i = 0; i < CHOICES; i++) {
+            assertNotSame(writer, choose("/items/1", HttpMethod.GET));
+        }
+    }
+
+    @Test
+    void choose_whenAllEjected_thenStillChosen() {
+        for (int i = 0; i < 3; i++) {
+            endpoint(i).eject();
+        }
+
+        for (int i = 0; i < CHOICES; i++) {
+            assertTrue(properties.getUrls().contains(choose("/items/1", HttpMethod.GET).getUrl()));
+        }
+    }
+
+    @Test
+    void checkHealth_whenUnhealthyOrDown_thenEjectedAndReadmittedWhenHealthy() {
+        healthStatuses.get(1).set(503);
+        servers.get(2).stop(0);
+
+        balancer.checkHealth();
+
+        assertFalse(endpoint(0).isEjected());
+        assertTrue(endpoint(1).isEjected());
+        assertTrue(endpoint(2).isEjected());
+
+        healthStatuses.get(1).set(200);
+        balancer.checkHealth();
+
+        assertFalse(endpoint(1).isEjected());
+        assertTrue(endpoint(2).isEjected());
+    }
+
+    @Test
+    void resolve_replacesServerUrlWithInstanceUrl() {
+        ServerEndpoint endpoint = endpoint(1);
+
+        assertEquals(URI.create(endpoint.getUrl() + "/items/1?from=0"),
+                balancer.resolve(uri("/items/1?from=0"), endpoint));
+    }
+
+    private ServerEndpoint choose(String path, HttpMethod method) {
+        return balancer.choose(uri(path), method, null);
+    }
+
+    private ServerEndpoint endpoint(int i) {
+        return balancer.getEndpoints().get(i);
+    }
+
+    private static URI uri(String path) {
+        return URI.create(SERVER_URL + path);
+    }
+}
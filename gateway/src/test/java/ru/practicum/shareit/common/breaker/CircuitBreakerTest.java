@@ -0,0 +1,165 @@
+package ru.practicum.shareit.common.breaker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private static final long OPEN = Duration.ofSeconds(5).toNanos();
+
+    private static final long WINDOW = Duration.ofSeconds(10).toNanos();
+
+    CircuitBreakerProperties properties;
+
+    CircuitBreaker breaker;
+
+    long now;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new CircuitBreakerProperties();
+        properties.setWindow(Duration.ofNanos(WINDOW));
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallDuration(Duration.ofSeconds(1));
+        properties.setSlowCallRateThreshold(0.75);
+        properties.setOpenDuration(Duration.ofNanos(OPEN));
+        properties.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker("/items", properties);
+        now = WINDOW;
+    }
+
+    @Test
+    void onResult_whenFewerThanMinimumCalls_thenStaysClosed() {
+        for (int i = 0; i < 3; i++) {
+            call(true, FAST);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void onResult_whenFailureRateReached_thenOpenUntilOpenDurationPasses() {
+        call(false, FAST);
+        call(false, FAST);
+        call(true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(true, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(-1, breaker.tryAcquire(now));
+        assertEquals(-1, breaker.tryAcquire(now + OPEN - 1));
+        assertTrue(breaker.tryAcquire(now + OPEN) >= 0);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void onResult_whenSlowCallRateReached_thenOpen() {
+        call(false, FAST);
+        for (int i = 0; i < 3; i++) {
+            call(false, SLOW);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onResult_whenFailuresOutsideWindow_thenNotCounted() {
+        for (int i = 0; i < 3; i++) {
+            call(true, FAST);
+        }
+        now += WINDOW;
+
+        for (int i = 0; i < 3; i++) {
+            call(false, FAST);
+        }
+        call(true, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.25, breaker.failureRate(now));
+    }
+
+    @Test
+    void tryAcquire_whenHalfOpen_thenOnlyTrialCallsUntilClosed() {
+        open();
+        now += OPEN;
+
+        long first = breaker.tryAcquire(now);
+        long second = breaker.tryAcquire(now);
+        assertTrue(first >= 0);
+        assertEquals(first, second);
+        assertEquals(-1, breaker.tryAcquire(now));
+
+        breaker.onResult(first, FAST, false, now);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(second, FAST, false, now);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.failureRate(now));
+        assertTrue(breaker.tryAcquire(now) >= 0);
+    }
+
+    @Test
+    void onResult_whenTrialFailsOrSlow_thenOpenAgain() {
+        open();
+        now += OPEN;
+        breaker.onResult(breaker.tryAcquire(now), FAST, true, now);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(-1, breaker.tryAcquire(now + OPEN - 1));
+
+        now += OPEN;
+        breaker.onResult(breaker.tryAcquire(now), SLOW, false, now);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void cancel_whenHalfOpen_thenTrialSlotFreed() {
+        open();
+        now += OPEN;
+        long generation = breaker.tryAcquire(now);
+        breaker.tryAcquire(now);
+        assertEquals(-1, breaker.tryAcquire(now));
+
+        breaker.cancel(generation);
+
+        assertEquals(generation, breaker.tryAcquire(now));
+    }
+
+    @Test
+    void onResult_whenStartedBeforeStateChange_thenIgnored() {
+        long staleGeneration = breaker.tryAcquire(now);
+        open();
+        now += OPEN;
+        long trial = breaker.tryAcquire(now);
+
+        breaker.onResult(staleGeneration, FAST, true, now);
+        breaker.cancel(staleGeneration);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(trial, breaker.tryAcquire(now));
+        assertEquals(-1, breaker.tryAcquire(now));
+    }
+
+    private void open() {
+        for (int i = 0; i < properties.getMinimumCalls(); i++) {
+            call(true, FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void call(boolean failed, long duration) {
+        long generation = breaker.tryAcquire(now);
+        assertTrue(generation >= 0);
+        breaker.onResult(generation, duration, failed, now += duration);
+    }
+}
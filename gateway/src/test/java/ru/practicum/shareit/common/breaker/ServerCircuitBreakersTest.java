@@ -0,0 +1,77 @@
+package ru.practicum.shareit.common.breaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerCircuitBreakersTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    CircuitBreakerProperties properties;
+
+    ServerCircuitBreakers breakers;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new CircuitBreakerProperties();
+        properties.setMaxConcurrentCalls(2);
+        properties.setClientMaxConcurrentCalls(Map.of("bookings", 1));
+        properties.setMinimumCalls(2);
+        ShareItServerProperties serverProperties = new ShareItServerProperties();
+        serverProperties.setUrl(SERVER_URL);
+        breakers = new ServerCircuitBreakers(properties, serverProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void acquire_whenBulkheadFull_thenUnavailableUntilReleased() {
+        ServerCircuitBreakers.Permit first = breakers.acquire(uri("/items/1"));
+        breakers.acquire(uri("/items/2"));
+
+        assertThrows(ServerUnavailableException.class, () -> breakers.acquire(uri("/items/3")));
+        assertDoesNotThrow(() -> breakers.acquire(uri("/users/1")));
+
+        first.release(false);
+        first.release(false);
+        assertDoesNotThrow(() -> breakers.acquire(uri("/items/3")));
+        assertThrows(ServerUnavailableException.class, () -> breakers.acquire(uri("/items/4")));
+    }
+
+    @Test
+    void acquire_whenClientLimitConfigured_thenOwnBulkhead() {
+        ServerCircuitBreakers.Permit permit = breakers.acquire(uri("/bookings/1"));
+
+        assertThrows(ServerUnavailableException.class, () -> breakers.acquire(uri("/bookings/2")));
+
+        permit.cancel();
+        assertDoesNotThrow(() -> breakers.acquire(uri("/bookings/2")));
+    }
+
+    @Test
+    void acquire_whenSectionFailing_thenOnlyThatSectionRejected() {
+        for (int i = 0; i < 2; i++) {
+            breakers.acquire(uri("/requests")).release(true);
+        }
+
+        assertThrows(ServerUnavailableException.class, () -> breakers.acquire(uri("/requests")));
+        assertDoesNotThrow(() -> breakers.acquire(uri("/items")).release(false));
+    }
+
+    @Test
+    void acquire_whenUriNotOnServer_thenNotLimited() {
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> breakers.acquire(URI.create("http://localhost:8080/items/1")));
+        }
+    }
+
+    private static URI uri(String path) {
+        return URI.create(SERVER_URL + path);
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.common.BufferedResponse;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GatewayResponseCacheTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    SimpleMeterRegistry meterRegistry;
+
+    GatewayResponseCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        ShareItServerProperties serverProperties = new ShareItServerProperties();
+        serverProperties.setUrl(SERVER_URL);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new GatewayResponseCache(new GatewayCacheProperties(), serverProperties, meterRegistry);
+    }
+
+    @Test
+    void get_whenSameUriAndUser_thenCachedResponse() {
+        BufferedResponse response = put("/items/1", "1");
+
+        assertSame(response, cache.get(uri("/items/1"), "1"));
+        assertNull(cache.get(uri("/items/1"), "2"));
+        assertNull(cache.get(uri("/items/1?from=0"), "1"));
+    }
+
+    @Test
+    void put_whenNotOkOrNotCachedSection_thenNotCached() {
+        cache.put(uri("/items/1"), "1", response(404), cache.generation());
+        put("/bookings/1", "1");
+
+        assertNull(cache.get(uri("/items/1"), "1"));
+        assertNull(cache.get(uri("/bookings/1"), "1"));
+    }
+
+    @Test
+    void put_whenInvalidatedAfterRequestSent_thenNotCached() {
+        long generation = cache.generation();
+        cache.invalidate(uri("/items/1"));
+
+        cache.put(uri("/items/1"), "1", response(200), generation);
+
+        assertNull(cache.get(uri("/items/1"), "1"));
+    }
+
+    @Test
+    void invalidate_whenResourceWritten_thenResourceAndSectionListsEvicted() {
+        put("/items/1", "1");
+        put("/items/2", "1");
+        put("/items", "1");
+        put("/items/search?text=x", "1");
+        put("/users/1", "1");
+
+        cache.invalidate(uri("/items/1"));
+
+        assertNull(cache.get(uri("/items/1"), "1"));
+        assertNotNull(cache.get(uri("/items/2"), "1"));
+        assertNull(cache.get(uri("/items"), "1"));
+        assertNull(cache.get(uri("/items/search?text=x"), "1"));
+        assertNotNull(cache.get(uri("/users/1"), "1"));
+    }
+
+    @Test
+    void invalidate_whenResourceWritten_thenOnlyStaleEntriesTouched() {
+        put("/items/1", "1");
+        put("/items/1", "2");
+        put("/items/2", "1");
+        put("/items", "1");
+        put("/users/1", "1");
+
+        cache.invalidate(uri("/items/1"));
+
+        assertEquals(3, meterRegistry.get("gateway.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void invalidate_whenWrittenAgainAfterRefill_thenEvictedAgain() {
+        put("/items/1", "1");
+        cache.invalidate(uri("/items/1"));
+        put("/items/1", "1");
+
+        cache.invalidate(uri("/items/1/comment"));
+
+        assertNull(cache.get(uri("/items/1"), "1"));
+    }
+
+    @Test
+    void invalidate_whenDependentSectionWritten_thenDependentPathsEvicted() {
+        put("/items/1", "1");
+        put("/requests/1", "1");
+        put("/users/2", "1");
+
+        cache.invalidate(uri("/bookings/5/approve"));
+
+        assertNull(cache.get(uri("/items/1"), "1"));
+        assertNotNull(cache.get(uri("/requests/1"), "1"));
+
+        cache.invalidate(uri("/users/1"));
+
+        assertNull(cache.get(uri("/requests/1"), "1"));
+        assertNotNull(cache.get(uri("/users/2"), "1"));
+    }
+
+    @Test
+    void invalidate_whenUriNotOnServer_thenNothingEvicted() {
+        put("/items/1", "1");
+        long generation = cache.generation();
+
+        cache.invalidate(URI.create("http://localhost:9091/items/1"));
+
+        assertNotNull(cache.get(uri("/items/1"), "1"));
+        assertEquals(generation, cache.generation());
+    }
+
+    private BufferedResponse put(String path, String userId) {
+        BufferedResponse response = response(200);
+        cache.put(uri(path), userId, response, cache.generation());
+        return response;
+    }
+
+    private static URI uri(String path) {
+        return URI.create(SERVER_URL + path);
+    }
+
+    private static BufferedResponse response(int status) {
+        return new BufferedResponse(status, new HttpHeaders(), new byte[0]);
+    }
+}
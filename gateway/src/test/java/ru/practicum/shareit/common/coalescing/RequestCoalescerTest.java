@@ -0,0 +1,208 @@
+package ru.practicum.shareit.common.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.common.BufferedResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private static final URI ITEM = URI.create(SERVER_URL + "/items/1");
+
+    RequestCoalescer coalescer;
+
+    List<Sinks.One<BufferedResponse>> calls;
+
+    @BeforeEach
+    void beforeEach() {
+        coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        calls = new ArrayList<>();
+    }
+
+    @Test
+    void executeReactive_whenLeaderFinished_thenNextRequestCallsServer() {
+        AtomicReference<BufferedResponse> first = subscribe(coalescer.execute(ITEM, "1", call()));
+        AtomicReference<BufferedResponse> second = subscribe(coalescer.execute(ITEM, "1", call()));
+        assertEquals(1, calls.size());
+
+        BufferedResponse response = response();
+        calls.get(0).tryEmitValue(response);
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+
+        subscribe(coalescer.execute(ITEM, "1", call()));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void executeReactive_whenWriteWhileLeaderInFlight_thenNewRequestNotCoalescedWithIt() {
+        AtomicReference<BufferedResponse> beforeWrite = subscribe(coalescer.execute(ITEM, "1", call()));
+
+        new CoalescingFilter(coalescer)
+                .filter(ClientRequest.create(HttpMethod.PATCH, ITEM).build(),
+                        request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+                .block();
+        AtomicReference<BufferedResponse> afterWrite = subscribe(coalescer.execute(ITEM, "1", call()));
+        assertEquals(2, calls.size());
+
+        BufferedResponse stale = response();
+        calls.get(0).tryEmitValue(stale);
+        assertSame(stale, beforeWrite.get());
+        assertNull(afterWrite.get());
+
+        // Завершение старого лидера не убирает нового: следующий запрос ждёт его ответа.
+        AtomicReference<BufferedResponse> follower = subscribe(coalescer.execute(ITEM, "1", call()));
+        assertEquals(2, calls.size());
+        BufferedResponse fresh = response();
+        calls.get(1).tryEmitValue(fresh);
+        assertSame(fresh, afterWrite.get());
+        assertSame(fresh, follower.get());
+    }
+
+    @Test
+    @Timeout(5)
+    void execute_whenWriteWhileLeaderInFlight_thenNewRequestNotCoalescedWithIt() throws Exception {
+        BufferedResponse stale = response();
+        BufferedResponse fresh = response();
+
+        BufferedResponse result = coalescer.execute(ITEM, "1", () -> {
+            new CoalescingInterceptor(coalescer).intercept(new MockClientHttpRequest(HttpMethod.PATCH, ITEM),
+                    new byte[0], (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+            assertSame(fresh, coalescer.execute(ITEM, "1", () -> fresh));
+            return stale;
+        });
+
+        assertSame(stale, result);
+    }
+
+    @Test
+    void executeReactive_whenDifferentUsers_thenNotCoalesced() {
+        subscribe(coalescer.execute(ITEM, "1", call()));
+        subscribe(coalescer.execute(ITEM, "2", call()));
+        subscribe(coalescer.execute(ITEM, null, call()));
+
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void executeReactive_whenLeaderFailed_thenFollowersGetErrorAndNextRequestCallsServer() {
+        AtomicReference<Throwable> first = subscribeError(coalescer.execute(ITEM, "1", call()));
+        AtomicReference<Throwable> second = subscribeError(coalescer.execute(ITEM, "1", call()));
+
+        IOException error = new IOException("Сервер не отвечает");
+        calls.get(0).tryEmitError(error);
+        assertSame(error, first.get());
+        assertSame(error, second.get());
+
+        subscribe(coalescer.execute(ITEM, "1", call()));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void execute_whenLeaderInFlight_thenFollowerGetsLeaderResponse() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        BufferedResponse response = response();
+        CountDownLatch leaderCalled = new CountDownLatch(1);
+        CountDownLatch followerJoined = new CountDownLatch(1);
+        AtomicInteger serverCalls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BufferedResponse> leader = executor.submit(() -> coalescer.execute(ITEM, "1", () -> {
+                serverCalls.incrementAndGet();
+                leaderCalled.countDown();
+                try {
+                    followerJoined.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return response;
+            }));
+            leaderCalled.await();
+            Future<BufferedResponse> follower = executor.submit(() -> coalescer.execute(ITEM, "1", () -> {
+                serverCalls.incrementAndGet();
+                return response();
+            }));
+            Counter followers = meterRegistry.get("gateway.coalescing.requests").tag("role", "follower").counter();
+            while (followers.count() < 1) {
+                Thread.onSpinWait();
+            }
+            followerJoined.countDown();
+
+            assertSame(response, leader.get());
+            assertSame(response, follower.get());
+            assertEquals(1, serverCalls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_whenLeaderFailed_thenErrorRethrownAndNextRequestCallsServer() {
+        IOException error = new IOException("Сервер не отвечает");
+
+        assertSame(error, assertThrows(IOException.class, () -> coalescer.execute(ITEM, "1", () -> {
+            throw error;
+        })));
+
+        BufferedResponse response = response();
+        assertDoesNotThrow(() -> assertSame(response, coalescer.execute(ITEM, "1", () -> response)));
+    }
+
+    private Mono<BufferedResponse> call() {
+        return Mono.defer(() -> {
+            Sinks.One<BufferedResponse> sink = Sinks.one();
+            calls.add(sink);
+            return sink.asMono();
+        });
+    }
+
+    private static AtomicReference<BufferedResponse> subscribe(Mono<BufferedResponse> response) {
+        AtomicReference<BufferedResponse> result = new AtomicReference<>();
+        response.subscribe(result::set);
+        return result;
+    }
+
+    private static AtomicReference<Throwable> subscribeError(Mono<BufferedResponse> response) {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        response.subscribe(ignored -> {
+        }, error::set);
+        return error;
+    }
+
+    private static BufferedResponse response() {
+        return new BufferedResponse(200, new HttpHeaders(), new byte[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.common.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeBudgetTest {
+
+    @Test
+    void tryWithdraw_whenRatioOfRequestsDeposited_thenOneHedge() {
+        HedgeBudget budget = new HedgeBudget(0.1);
+        assertFalse(budget.hasHedge());
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.hasHedge());
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertTrue(budget.hasHedge());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void deposit_whenIdleForLong_thenAtMostTenHedges() {
+        HedgeBudget budget = new HedgeBudget(0.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.deposit();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryWithdraw());
+        }
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void tryWithdraw_whenRatioZero_thenNeverHedges() {
+        HedgeBudget budget = new HedgeBudget(0);
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.deposit();
+        }
+
+        assertFalse(budget.tryWithdraw());
+    }
+}
@@ -0,0 +1,286 @@
+package ru.practicum.shareit.common.hedging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сервер заменён execution, который отвечает сразу или ждёт, пока тест его отпустит: повтор отправляется
+ * через initial-delay, а первая попытка отвечает, только когда это нужно тесту.
+ */
+@Timeout(10)
+class HedgingInterceptorTest {
+
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(10);
+
+    SimpleMeterRegistry meterRegistry;
+
+    ShareItServerProperties serverProperties;
+
+    RequestHedger hedger;
+
+    HedgingInterceptor interceptor;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        serverProperties = new ShareItServerProperties();
+        serverProperties.setUrl("http://localhost:9090");
+        start(HEDGE_DELAY);
+    }
+
+    @AfterEach
+    void afterEach() {
+        hedger.destroy();
+    }
+
+    @Test
+    void intercept_whenNotGet_thenSingleAttemptOnCallerThread() throws IOException {
+        fundBudget();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, ITEM),
+                new byte[0], (request, body) -> {
+                    threads.add(Thread.currentThread());
+                    return response();
+                });
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void intercept_whenBudgetEmpty_thenSingleAttemptOnCallerThread() throws IOException {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        interceptor.intercept(get(), new byte[0], (request, body) -> {
+            threads.add(Thread.currentThread());
+            return response();
+        });
+
+        assertEquals(List.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void intercept_whenPrimarySlow_thenHedgeAnswersAndLateResponseClosed() throws Exception {
+        fundBudget();
+        CountDownLatch primaryReleased = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        TrackedResponse primary = response();
+        TrackedResponse hedge = response();
+        CompletableFuture<Void> primaryDone = new CompletableFuture<>();
+
+        ClientHttpResponse response = interceptor.intercept(get(), new byte[0], (request, body) -> {
+            if (attempts.incrementAndGet() > 1) {
+                return hedge;
+            }
+            await(primaryReleased);
+            primaryDone.complete(null);
+            return primary;
+        });
+
+        assertSame(hedge, response);
+        assertEquals(1, count("gateway.hedging.hedges", "result", "sent"));
+        assertEquals(1, count("gateway.hedging.wins", "attempt", "hedge"));
+
+        primaryReleased.countDown();
+        primaryDone.join();
+        while (!primary.closed.get()) {
+            Thread.onSpinWait();
+        }
+        assertFalse(hedge.closed.get());
+    }
+
+    @Test
+    void intercept_whenPrimaryAnswersBeforeDelay_thenNoHedge() throws IOException {
+        hedger.destroy();
+        start(Duration.ofSeconds(10));
+        fundBudget();
+        AtomicInteger attempts = new AtomicInteger();
+        TrackedResponse primary = response();
+
+        ClientHttpResponse response = interceptor.intercept(get(), new byte[0], (request, body) -> {
+            attempts.incrementAndGet();
+            return primary;
+        });
+
+        assertSame(primary, response);
+        assertEquals(1, attempts.get());
+        assertEquals(0, count("gateway.hedging.hedges", "result", "sent"));
+    }
+
+    @Test
+    void intercept_whenPrimaryFailsAfterHedgeSent_thenHedgeAnswers() throws IOException {
+        fundBudget();
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        TrackedResponse hedge = response();
+
+        ClientHttpResponse response = interceptor.intercept(get(), new byte[0], (request, body) -> {
+            if (attempts.incrementAndGet() > 1) {
+                hedgeSent.countDown();
+                return hedge;
+            }
+            await(hedgeSent);
+            throw new IOException("Соединение разорвано");
+        });
+
+        assertSame(hedge, response);
+    }
+
+    @Test
+    void intercept_whenAllAttemptsFail_thenError() {
+        fundBudget();
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        IOException primaryError = new IOException("Первая попытка");
+
+        IOException error = assertThrows(IOException.class, () -> interceptor.intercept(get(), new byte[0],
+                (request, body) -> {
+                    if (attempts.incrementAndGet() > 1) {
+                        hedgeSent.countDown();
+                        throw new IOException("Повтор");
+                    }
+                    await(hedgeSent);
+                    throw primaryError;
+                }));
+
+        assertTrue(error.getMessage().equals("Повтор") || error == primaryError);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void intercept_whenNoFreeThreadForHedge_thenWaitsForPrimary() throws Exception {
+        hedger.destroy();
+        serverProperties.setMaxConnections(1);
+        start(HEDGE_DELAY);
+        fundBudget();
+        CountDownLatch primaryReleased = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        TrackedResponse primary = response();
+        ClientHttpRequestExecution execution = (request, body) -> {
+            attempts.incrementAndGet();
+            await(primaryReleased);
+            return primary;
+        };
+
+        CompletableFuture<ClientHttpResponse> response = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.intercept(get(), new byte[0], execution);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (count("gateway.hedging.hedges", "result", "no_threads") < 1) {
+            Thread.onSpinWait();
+        }
+        primaryReleased.countDown();
+
+        assertSame(primary, response.join());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void intercept_whenHedged_thenAttemptsOnPoolThreads() throws IOException {
+        fundBudget();
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        interceptor.intercept(get(), new byte[0], (request, body) -> {
+            threads.add(Thread.currentThread());
+            if (threads.size() > 1) {
+                hedgeSent.countDown();
+            } else {
+                await(hedgeSent);
+            }
+            return response();
+        });
+
+        assertEquals(2, threads.size());
+        for (Thread thread : threads) {
+            assertNotSame(Thread.currentThread(), thread);
+            assertTrue(thread.getName().startsWith("gateway-hedge-"));
+        }
+    }
+
+    private void start(Duration hedgeDelay) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setInitialDelay(hedgeDelay);
+        hedger = new RequestHedger(properties, serverProperties, meterRegistry);
+        interceptor = new HedgingInterceptor(hedger, List.of());
+    }
+
+    /**
+     * Каждый GET-запрос добавляет в бюджет десятую часть повтора.
+     */
+    private void fundBudget() {
+        RequestHedger.Section section = hedger.section(HttpMethod.GET, ITEM);
+        for (int i = 0; i < 10; i++) {
+            section.start();
+        }
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, ITEM);
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static TrackedResponse response() {
+        return new TrackedResponse();
+    }
+
+    private static class TrackedResponse extends MockClientHttpResponse {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        TrackedResponse() {
+            super(new byte[0], HttpStatus.OK);
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+            super.close();
+        }
+    }
+}
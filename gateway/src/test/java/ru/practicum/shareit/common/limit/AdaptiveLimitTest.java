@@ -0,0 +1,187 @@
+package ru.practicum.shareit.common.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimitTest {
+
+    private static final String BY_ID = "/items/{id}";
+
+    private static final String SEARCH = "/items/search";
+
+    private static final long RTT = Duration.ofMillis(10).toNanos();
+
+    private static final long WINDOW = Duration.ofSeconds(30).toNanos();
+
+    AdaptiveLimitProperties properties;
+
+    long now;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setBackoffRatio(0.5);
+        properties.setMinRttWindow(Duration.ofNanos(WINDOW));
+        now = 0;
+    }
+
+    @Test
+    void tryAcquire_whenLimitReached_thenRejectedUntilReleased() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        assertEquals(4, limit.getInFlight());
+
+        limit.cancel();
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, RTT, false, now += RTT);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void release_whenFullyUsedAndFast_thenLimitGrowsByAboutOnePerLimitResponses() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        fill(limit);
+
+        for (int i = 0; i < 5; i++) {
+            limit.release(BY_ID, RTT, false, now += RTT);
+            fill(limit);
+        }
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void release_whenUnderused_thenLimitNotGrown() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(BY_ID, RTT, false, now += RTT);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void release_whenGrowing_thenCappedByMaxLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 5);
+        fill(limit);
+
+        for (int i = 0; i < 100; i++) {
+            limit.release(BY_ID, RTT, false, now += RTT);
+            fill(limit);
+        }
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void release_whenDropped_thenLimitBacksOffOncePerRttAndNotBelowMin() {
+        properties.setInitialLimit(16);
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, RTT, false, now += RTT);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        limit.release(BY_ID, RTT, true, now += RTT);
+        limit.release(BY_ID, RTT, true, now + 1);
+        assertEquals(8, limit.getLimit());
+
+        limit.release(BY_ID, RTT, true, now += RTT);
+        assertEquals(4, limit.getLimit());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(BY_ID, RTT, true, now += RTT);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void release_whenMuchSlowerThanMinRtt_thenLimitBacksOff() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, RTT, false, now += RTT);
+
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, 3 * RTT, false, now += 3 * RTT);
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void release_whenRoutesOfSectionDifferInSpeed_thenLimitStillGrows() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        long searchRtt = 10 * RTT;
+        fill(limit);
+
+        for (int i = 0; i < 10; i++) {
+            limit.release(BY_ID, RTT, false, now += RTT);
+            fill(limit);
+            limit.release(SEARCH, searchRtt, false, now += RTT);
+            fill(limit);
+        }
+
+        assertEquals(7, limit.getLimit());
+        assertEquals(RTT, limit.getMinRtt());
+    }
+
+    @Test
+    void release_whenRouteMuchSlowerThanItsOwnMinRtt_thenLimitBacksOff() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        long searchRtt = 10 * RTT;
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, RTT, false, now += RTT);
+        assertTrue(limit.tryAcquire());
+        limit.release(SEARCH, searchRtt, false, now += searchRtt);
+        assertEquals(4, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        limit.release(SEARCH, 3 * searchRtt, false, now += 3 * searchRtt);
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void release_whenServerSlowerForTwoWindows_thenOldMinRttForgotten() {
+        AdaptiveLimit limit = new AdaptiveLimit(properties, 100);
+        assertTrue(limit.tryAcquire());
+        limit.release(BY_ID, RTT, false, now += RTT);
+
+        long slowRtt = 10 * RTT;
+        for (int window = 0; window < 2; window++) {
+            now += WINDOW;
+            assertTrue(limit.tryAcquire());
+            limit.release(BY_ID, slowRtt, false, now);
+        }
+
+        assertEquals(slowRtt, limit.getMinRtt());
+        int backedOff = limit.getLimit();
+        fill(limit);
+        for (int i = 0; i < 10; i++) {
+            limit.release(BY_ID, slowRtt, false, now += slowRtt);
+            fill(limit);
+        }
+        assertTrue(limit.getLimit() > backedOff);
+    }
+
+    private static void fill(AdaptiveLimit limit) {
+        while (limit.tryAcquire()) {
+            // Предел растёт, только пока запросы занимают хотя бы половину его.
+        }
+    }
+}
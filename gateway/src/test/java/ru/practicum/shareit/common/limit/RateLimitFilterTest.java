@@ -0,0 +1,131 @@
+package ru.practicum.shareit.common.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Темп группы - один запрос за 1000 секунд: пока идёт тест, новый токен не появляется,
+ * и Retry-After не зависит от его длительности.
+ */
+class RateLimitFilterTest {
+
+    private static final double RATE = 0.001;
+
+    @Test
+    void doFilter_whenBurstUsed_thenTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(1, 2);
+
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/search", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/search", "1").getStatus());
+        MockHttpServletResponse rejected = doFilter(filter, "/items/search", "1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1000", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(body(rejected).contains(RequestLimiter.RATE_LIMITED_MESSAGE));
+    }
+
+    @Test
+    void doFilter_whenOtherUserOrGroup_thenOwnBucket() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/search", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/search", "2").getStatus());
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/1", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/search", null).getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), doFilter(filter, "/items/search", null).getStatus());
+    }
+
+    @Test
+    void doFilter_whenConcurrentLimitReached_thenServiceUnavailable() throws Exception {
+        RequestLimiter limiter = limiter(1, 100);
+        RateLimitFilter filter = new RateLimitFilter(limiter, new ObjectMapper());
+        assertTrue(limiter.tryEnter());
+
+        MockHttpServletResponse shed = doFilter(filter, "/items/1", "1");
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), shed.getStatus());
+        assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(body(shed).contains(RequestLimiter.OVERLOADED_MESSAGE));
+
+        limiter.exit();
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/1", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), doFilter(filter, "/items/1", "1").getStatus());
+    }
+
+    @Test
+    void doFilter_whenActuator_thenNotLimited() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("/actuator/health", "1"), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    void doFilter_whenRejected_thenChainNotCalled() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+        doFilter(filter, "/items/search", "1");
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/items/search", "1"), new MockHttpServletResponse(), chain);
+
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void retryAfterSeconds_roundsUpToWholeSeconds() {
+        assertEquals(1, RequestLimiter.retryAfterSeconds(1));
+        assertEquals(1, RequestLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, RequestLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1));
+    }
+
+    private static RateLimitFilter filter(int maxConcurrentRequests, int burst) {
+        return new RateLimitFilter(limiter(maxConcurrentRequests, burst), new ObjectMapper());
+    }
+
+    private static RequestLimiter limiter(int maxConcurrentRequests, int burst) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        properties.setGroups(List.of(
+                new RateLimitProperties.Group("search", List.of("/items/search"), RATE, burst),
+                new RateLimitProperties.Group("default", List.of("/**"), RATE, burst * 100)));
+        return new RequestLimiter(properties, new ShareItServerProperties(), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse doFilter(RateLimitFilter filter, String path, String userId)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, userId), response, new MockFilterChain());
+        return response;
+    }
+
+    private static String body(MockHttpServletResponse response) throws Exception {
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static MockHttpServletRequest request(String path, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.common.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.common.ShareItServerProperties;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена проверки лимитов на запрос в установившемся режиме: лимиты заведомо не достигаются,
+ * пользователи перебираются по кругу. Запуск: main() из IDE после mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int users;
+
+    @Param({"/items/search", "/items/42"})
+    private String path;
+
+    private RequestLimiter limiter;
+    private TokenBucket bucket;
+    private String[] clients;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(
+                new RateLimitProperties.Group("search", List.of("/items/search"), 1e9, 1_000_000),
+                new RateLimitProperties.Group("bookings", List.of("/bookings/**"), 1e9, 1_000_000),
+                new RateLimitProperties.Group("default", List.of("/**"), 1e9, 1_000_000)));
+        ShareItServerProperties serverProperties = new ShareItServerProperties();
+        limiter = new RequestLimiter(properties, serverProperties, new SimpleMeterRegistry());
+        bucket = new TokenBucket(1, 1_000_000, System.nanoTime());
+
+        clients = new String[users];
+        for (int i = 0; i < users; i++) {
+            clients[i] = String.valueOf(i + 1);
+        }
+    }
+
+    @Benchmark
+    public long tokenBucket() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public long limiter() {
+        String client = clients[next];
+        next = next + 1 == clients.length ? 0 : next + 1;
+
+        long wait = limiter.tryAcquire(path, client);
+        if (limiter.tryEnter()) {
+            limiter.exit();
+        }
+        return wait;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestLimiterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = 100;
+
+    @Test
+    void tryAcquire_whenBurstUsed_thenWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(INTERVAL, bucket.tryAcquire(0));
+        assertEquals(INTERVAL - 40, bucket.tryAcquire(40));
+
+        assertEquals(0, bucket.tryAcquire(INTERVAL));
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL));
+    }
+
+    @Test
+    void tryAcquire_whenRejected_thenNoTokenSpent() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(INTERVAL, bucket.tryAcquire(0));
+        }
+        assertEquals(0, bucket.tryAcquire(INTERVAL));
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_thenOnlyBurstAvailable() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, 0);
+
+        long later = 1_000 * INTERVAL;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(INTERVAL, bucket.tryAcquire(later));
+    }
+
+    @Test
+    void tryAcquire_whenRequestsAtRate_thenAllAccepted() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1, 0);
+
+        for (long now = 0; now < 100 * INTERVAL; now += INTERVAL) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingFromRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingSummary;
 import ru.practicum.shareit.booking.model.StateFilter;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -37,20 +48,79 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingResponse> getByBookerId(
+    public ResponseEntity<Collection<BookingResponse>> getByBookerId(
             @RequestParam(name = "state") StateFilter state,
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
-            @RequestParam(name = "from") int from,
-            @RequestParam(name = "size") int size) {
-        return bookingService.getByBookerId(state, bookerId, from, size);
+            @RequestParam(name = "itemId", required = false) Long itemId,
+            @RequestParam(name = "statuses", required = false) Set<BookingStatus> statuses,
+            @RequestParam(name = "rangeStart", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeStart,
+            @RequestParam(name = "rangeEnd", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeEnd,
+            @RequestParam(name = "from", defaultValue = "0") int from,
+            @RequestParam(name = "size") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingFilter filter = filter(state, itemId, statuses, rangeStart, rangeEnd);
+        if (cursor == null && from > 0) {
+            return ResponseEntity.ok(bookingService.getByBookerId(filter, bookerId, from, size));
+        }
+        return withNextCursor(bookingService.getByBookerId(filter, bookerId, decode(cursor), size), size);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingResponse> getByOwnerId(
+    public ResponseEntity<Collection<BookingResponse>> getByOwnerId(
             @RequestParam(name = "state") StateFilter state,
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @RequestParam(name = "from") int from,
-            @RequestParam(name = "size") int size) {
-        return bookingService.getByOwnerId(state, ownerId, from, size);
+            @RequestParam(name = "itemId", required = false) Long itemId,
+            @RequestParam(name = "statuses", required = false) Set<BookingStatus> statuses,
+            @RequestParam(name = "rangeStart", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeStart,
+            @RequestParam(name = "rangeEnd", required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+            LocalDateTime rangeEnd,
+            @RequestParam(name = "from", defaultValue = "0") int from,
+            @RequestParam(name = "size") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingFilter filter = filter(state, itemId, statuses, rangeStart, rangeEnd);
+        if (cursor == null && from > 0) {
+            return ResponseEntity.ok(bookingService.getByOwnerId(filter, ownerId, from, size));
+        }
+        return withNextCursor(bookingService.getByOwnerId(filter, ownerId, decode(cursor), size), size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummary getBookerSummary(@RequestHeader("X-Sharer-User-Id") Long bookerId) {
+        return bookingService.getSummary(BookingRole.BOOKER, bookerId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummary getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingService.getSummary(BookingRole.OWNER, ownerId);
+    }
+
+    private static BookingFilter filter(StateFilter state, Long itemId, Set<BookingStatus> statuses,
+                                        LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return BookingFilter.builder()
+                .state(state)
+                .itemId(itemId)
+                .statuses(statuses == null ? Set.of() : statuses)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .build();
+    }
+
+    private static BookingCursor decode(String cursor) {
+        return cursor == null ? null : BookingCursor.decode(cursor);
+    }
+
+    private static ResponseEntity<Collection<BookingResponse>> withNextCursor(List<BookingResponse> bookings,
+                                                                             int size) {
+        BookingCursor next = BookingCursor.after(bookings, size);
+        if (next == null) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        return ResponseEntity.ok()
+                .header(BookingCursor.NEXT_CURSOR_HEADER, next.encode())
+                .body(bookings);
     }
 }
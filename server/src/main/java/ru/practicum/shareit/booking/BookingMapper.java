@@ -3,10 +3,13 @@ package ru.practicum.shareit.booking;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
 import ru.practicum.shareit.booking.dto.BookingFromRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingResponseForItemResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.user.UserMapper;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = UserMapper.class)
@@ -15,8 +18,46 @@ public interface BookingMapper {
     @Mapping(target = "item.id", source = "bookingFromRequest.itemId")
     Booking toBooking(BookingFromRequest bookingFromRequest);
 
+    @Mapping(target = "item.lastBooking", source = "item.bookingSummary", qualifiedByName = "toLastBooking")
+    @Mapping(target = "item.nextBooking", source = "item.bookingSummary", qualifiedByName = "toNextBooking")
     BookingResponse toBookingResponse(Booking booking);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(target = "item.comments", ignore = true)
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponse toBookingResponse(BookingView bookingView);
+
     @Mapping(target = "bookerId", source = "booker.id")
     BookingResponseForItemResponse toBookingResponseForItemResponse(Booking booking);
+
+    @Named("toLastBooking")
+    default BookingResponseForItemResponse toLastBooking(ItemBookingSummary summary) {
+        if (summary == null || summary.getLastBookingId() == null) {
+            return null;
+        }
+        return BookingResponseForItemResponse.builder()
+                .id(summary.getLastBookingId())
+                .bookerId(summary.getLastBookerId())
+                .build();
+    }
+
+    @Named("toNextBooking")
+    default BookingResponseForItemResponse toNextBooking(ItemBookingSummary summary) {
+        if (summary == null || summary.getNextBookingId() == null) {
+            return null;
+        }
+        return BookingResponseForItemResponse.builder()
+                .id(summary.getNextBookingId())
+                .bookerId(summary.getNextBookerId())
+                .build();
+    }
 }
+
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BookingHoldFromRequest {
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    /**
+     * Сколько секунд держать период; без значения - shareit.booking.holds.default-ttl.
+     */
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.exception.BookingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Позиция в списке бронирований, упорядоченном по (start desc, id desc): следующая страница
+ * начинается с бронирований, стоящих строго после этой пары. Клиенту передаётся в виде непрозрачной строки.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BookingCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BookingException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    /**
+     * @return курсор страницы, следующей за page, или null, если page неполная и дальше ничего нет
+     */
+    @Nullable
+    public static BookingCursor after(List<BookingResponse> page, int size) {
+        if (page.size() < size) {
+            return null;
+        }
+        BookingResponse last = page.get(page.size() - 1);
+        return new BookingCursor(last.getStart(), last.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
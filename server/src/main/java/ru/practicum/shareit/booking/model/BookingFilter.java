@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Условия списка бронирований. Незаданные условия в запрос не попадают; заданные складываются через "и".
+ */
+@Value
+@Builder
+public class BookingFilter {
+
+    @Builder.Default
+    StateFilter state = StateFilter.ALL;
+
+    @Nullable
+    Long itemId;
+
+    /**
+     * Допустимые статусы; пустое множество - любой статус.
+     */
+    @Builder.Default
+    Set<BookingStatus> statuses = Set.of();
+
+    /**
+     * Бронирование должно пересекаться с периодом [rangeStart, rangeEnd]; любая из границ может быть открыта.
+     */
+    @Nullable
+    LocalDateTime rangeStart;
+
+    @Nullable
+    LocalDateTime rangeEnd;
+
+    public static BookingFilter of(StateFilter state) {
+        return builder().state(state).build();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Временное удержание периода вещи пользователем до оформления бронирования.
+ */
+@Value
+public class BookingHold {
+
+    Long id;
+
+    Long itemId;
+
+    Long holderId;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class BookingInterval {
+
+    private final Long id;
+
+    private final Long itemId;
+
+    private final BookingStatus status;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getStatus(),
+                booking.getStart(), booking.getEnd());
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
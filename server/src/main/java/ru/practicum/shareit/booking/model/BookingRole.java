@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Чьи бронирования выбираются: сделанные пользователем или бронирования его вещей.
+ */
+public enum BookingRole {
+
+    BOOKER, OWNER
+
+}
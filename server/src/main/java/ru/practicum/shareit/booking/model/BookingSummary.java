@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Число бронирований пользователя в каждом состоянии на один момент времени.
+ * В JSON - объект вида {"ALL": 5, "CURRENT": 1, ...} с ключами, совпадающими со значениями параметра state.
+ */
+@ToString
+@EqualsAndHashCode
+public class BookingSummary {
+
+    private final Map<StateFilter, Long> counts;
+
+    public BookingSummary(Map<StateFilter, Long> counts) {
+        Map<StateFilter, Long> copy = new EnumMap<>(StateFilter.class);
+        copy.putAll(counts);
+        this.counts = Collections.unmodifiableMap(copy);
+    }
+
+    public long getCount(StateFilter state) {
+        return counts.getOrDefault(state, 0L);
+    }
+
+    @JsonValue
+    public Map<StateFilter, Long> getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований: только поля BookingResponse, выбранные одним запросом
+ * вместе с вещью и автором бронирования.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingView {
+
+    private final Long id;
+
+    private final BookingStatus status;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    private final Long itemId;
+
+    private final String itemName;
+
+    private final String itemDescription;
+
+    private final Boolean itemAvailable;
+
+    private final Long itemRequestId;
+
+    private final Long bookerId;
+
+    private final String bookerName;
+
+    private final String bookerEmail;
+}
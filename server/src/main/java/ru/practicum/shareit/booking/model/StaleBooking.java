@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование, которое владелец не подтвердил до его начала.
+ */
+@Value
+public class StaleBooking {
+
+    Long id;
+
+    Long itemId;
+
+    Long bookerId;
+
+    Long ownerId;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+}
@@ -3,36 +3,69 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.StaleBooking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByBookerId(Long bookerId, Pageable page);
-
-    List<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-            Long bookerId, LocalDateTime time1, LocalDateTime time2, Pageable page);
+    Optional<Booking> findFirstByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime endTime);
 
-    List<Booking> findByBookerIdAndEndLessThan(Long bookerId, LocalDateTime time, Pageable page);
+    Optional<Booking> findFirstByItemIdAndStatusIsAndStartLessThanOrderByStartDesc(
+            Long itemId, BookingStatus status, LocalDateTime time);
 
-    List<Booking> findByBookerIdAndStartGreaterThan(Long bookerId, LocalDateTime time, Pageable page);
+    Optional<Booking> findFirstByItemIdAndStatusIsAndStartGreaterThanOrderByStartAsc(
+            Long itemId, BookingStatus status, LocalDateTime time);
 
-    List<Booking> findByBookerIdAndStatusIs(Long bookerId, BookingStatus status, Pageable page);
+    @Query("select b.item.id from Booking as b where b.id = :bookingId")
+    Optional<Long> findItemIdById(Long bookingId);
 
-    List<Booking> findByItemOwnerId(Long ownerId, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.status, b.start, b.end) " +
+            "from Booking as b where b.status in :statuses and b.end > :time")
+    List<BookingInterval> findIntervalsByStatusInAndEndAfter(Collection<BookingStatus> statuses, LocalDateTime time);
 
-    List<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-            Long ownerId, LocalDateTime time1, LocalDateTime time2, Pageable page);
+    /**
+     * Интервалы бронирований вещи с заданными статусами, которые ещё не закончились к time, по возрастанию начала.
+     */
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.status, b.start, b.end) " +
+            "from Booking as b where b.item.id = :itemId and b.status in :statuses and b.end > :time " +
+            "order by b.start")
+    List<BookingInterval> findIntervalsByItemIdAndStatusInAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                                      LocalDateTime time);
 
-    List<Booking> findByItemOwnerIdAndEndLessThan(Long ownerId, LocalDateTime time, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.status, b.start, b.end) " +
+            "from Booking as b where b.id in :bookingIds")
+    List<BookingInterval> findIntervalsByIdIn(Collection<Long> bookingIds);
 
-    List<Booking> findByItemOwnerIdAndStartGreaterThan(Long ownerId, LocalDateTime time, Pageable page);
+    /**
+     * Первые по (start, id) бронирования со статусом status, начавшиеся до time.
+     */
+    @Query("select new ru.practicum.shareit.booking.model.StaleBooking(b.id, i.id, b.booker.id, i.owner.id, " +
+            "b.start, b.end) from Booking as b join b.item as i " +
+            "where b.status = :status and b.start < :time " +
+            "order by b.start, b.id")
+    List<StaleBooking> findStarted(BookingStatus status, LocalDateTime time, Pageable page);
 
-    List<Booking> findByItemOwnerIdAndStatusIs(Long ownerId, BookingStatus status, Pageable page);
+    /**
+     * Как {@link #findStarted}, но после бронирования (afterStart, afterId) в порядке (start, id).
+     */
+    @Query("select new ru.practicum.shareit.booking.model.StaleBooking(b.id, i.id, b.booker.id, i.owner.id, " +
+            "b.start, b.end) from Booking as b join b.item as i " +
+            "where b.status = :status and b.start < :time " +
+            "and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+            "order by b.start, b.id")
+    List<StaleBooking> findStartedAfter(BookingStatus status, LocalDateTime time, LocalDateTime afterStart,
+                                        Long afterId, Pageable page);
 
-    Optional<Booking> findFirstByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime endTime);
+    @Modifying
+    @Query("update Booking as b set b.status = :newStatus where b.id in :bookingIds and b.status = :status")
+    int updateStatusByIdInAndStatus(Collection<Long> bookingIds, BookingStatus status, BookingStatus newStatus);
 }
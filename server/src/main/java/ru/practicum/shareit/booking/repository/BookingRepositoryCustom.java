@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Списки бронирований по условию из {@link BookingSpecifications}: одним запросом с join вещи и автора
+ * в порядке (start desc, id desc), без загрузки сущностей и их связей.
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Страница, начинающаяся сразу после курсора или с начала списка, если курсор не задан.
+     */
+    List<BookingView> findAllAfter(Specification<Booking> specification, @Nullable BookingCursor cursor, int size);
+
+    /**
+     * Страница по номеру и размеру из page; сортировка page не учитывается.
+     */
+    List<BookingView> findPage(Specification<Booking> specification, Pageable page);
+
+    /**
+     * Число бронирований по условию в каждом состоянии относительно currentTime: один проход по строкам
+     * с условным подсчётом для всех состояний сразу.
+     */
+    BookingSummary summarize(Specification<Booking> specification, LocalDateTime currentTime);
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllAfter(Specification<Booking> specification, BookingCursor cursor, int size) {
+        return query(specification, cursor)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingView> findPage(Specification<Booking> specification, Pageable page) {
+        return query(specification, null)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public BookingSummary summarize(Specification<Booking> specification, LocalDateTime currentTime) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<Long> id = booking.get("id");
+
+        StateFilter[] states = StateFilter.values();
+        List<Selection<?>> counts = new ArrayList<>(states.length);
+        for (StateFilter state : states) {
+            Specification<Booking> byState = BookingSpecifications.byState(state, currentTime);
+            Expression<?> counted = byState == null ? id : builder.selectCase()
+                    .when(byState.toPredicate(booking, query, builder), id)
+                    .otherwise(builder.nullLiteral(Long.class));
+            counts.add(builder.count(counted));
+        }
+        query.multiselect(counts)
+                .where(specification.toPredicate(booking, query, builder));
+
+        Object[] row = entityManager.createQuery(query).getSingleResult();
+        Map<StateFilter, Long> summary = new EnumMap<>(StateFilter.class);
+        for (int i = 0; i < states.length; i++) {
+            summary.put(states[i], (Long) row[i]);
+        }
+        return new BookingSummary(summary);
+    }
+
+    private TypedQuery<BookingView> query(Specification<Booking> specification, BookingCursor cursor) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = builder.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = BookingSpecifications.item(booking);
+        Join<Booking, User> booker = booking.join("booker");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+
+        Predicate predicate = specification.toPredicate(booking, query, builder);
+        if (cursor != null) {
+            predicate = builder.and(predicate, builder.or(
+                    builder.lessThan(start, cursor.getStart()),
+                    builder.and(builder.equal(start, cursor.getStart()), builder.lessThan(id, cursor.getId()))));
+        }
+
+        query.select(builder.construct(BookingView.class, id, booking.get("status"), start, booking.get("end"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("requestId"), booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(predicate)
+                .orderBy(builder.desc(start), builder.desc(id));
+
+        return entityManager.createQuery(query);
+    }
+}
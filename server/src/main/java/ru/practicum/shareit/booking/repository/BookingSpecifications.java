@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.exception.NoSuchStateException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@UtilityClass
+public class BookingSpecifications {
+
+    /**
+     * Весь список бронирований: роль пользователя и условия фильтра. Условие строится только из заданных
+     * частей фильтра, поэтому на каждое их сочетание приходится один текст SQL, а значения уходят параметрами.
+     */
+    public static Specification<Booking> of(BookingRole role, Long userId, BookingFilter filter,
+                                            LocalDateTime currentTime) {
+        return byRole(role, userId)
+                .and(byState(filter.getState(), currentTime))
+                .and(filter.getItemId() == null ? null : byItemId(filter.getItemId()))
+                .and(filter.getStatuses().isEmpty() ? null : byStatusIn(filter.getStatuses()))
+                .and(filter.getRangeStart() == null ? null : endsNotBefore(filter.getRangeStart()))
+                .and(filter.getRangeEnd() == null ? null : startsNotAfter(filter.getRangeEnd()));
+    }
+
+    public static Specification<Booking> byRole(BookingRole role, Long userId) {
+        switch (role) {
+            case BOOKER:
+                return byBookerId(userId);
+            case OWNER:
+                return byItemOwnerId(userId);
+            default:
+                throw new IllegalArgumentException("Неизвестная роль: " + role);
+        }
+    }
+
+    public static Specification<Booking> byBookerId(Long bookerId) {
+        return (booking, query, builder) -> builder.equal(booking.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byItemOwnerId(Long ownerId) {
+        return (booking, query, builder) -> builder.equal(item(booking).get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> byItemId(Long itemId) {
+        return (booking, query, builder) -> builder.equal(booking.get("item").get("id"), itemId);
+    }
+
+    public static Specification<Booking> byStatusIn(Collection<BookingStatus> statuses) {
+        return (booking, query, builder) -> booking.get("status").in(statuses);
+    }
+
+    public static Specification<Booking> endsNotBefore(LocalDateTime time) {
+        return (booking, query, builder) -> builder.greaterThanOrEqualTo(booking.get("end"), time);
+    }
+
+    public static Specification<Booking> startsNotAfter(LocalDateTime time) {
+        return (booking, query, builder) -> builder.lessThanOrEqualTo(booking.get("start"), time);
+    }
+
+    /**
+     * Join вещи, уже добавленный в запрос, или новый: иначе выборка полей вещи и условие по владельцу
+     * соединили бы таблицу вещей дважды.
+     */
+    @SuppressWarnings("unchecked")
+    public static Join<Booking, Item> item(Root<Booking> booking) {
+        return booking.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("item"))
+                .map(join -> (Join<Booking, Item>) join)
+                .findFirst()
+                .orElseGet(() -> booking.join("item"));
+    }
+
+    /**
+     * Условие состояния относительно currentTime; для ALL условия нет.
+     */
+    @Nullable
+    public static Specification<Booking> byState(StateFilter state, LocalDateTime currentTime) {
+        switch (state) {
+            case ALL:
+                return null;
+            case CURRENT:
+                return (booking, query, builder) -> builder.and(
+                        builder.lessThanOrEqualTo(booking.get("start"), currentTime),
+                        builder.greaterThanOrEqualTo(booking.get("end"), currentTime));
+            case PAST:
+                return (booking, query, builder) -> builder.lessThan(booking.get("end"), currentTime);
+            case FUTURE:
+                return (booking, query, builder) -> builder.greaterThan(booking.get("start"), currentTime);
+            case WAITING:
+            case APPROVED:
+            case REJECTED:
+                BookingStatus status = BookingStatus.valueOf(state.toString());
+                return (booking, query, builder) -> builder.equal(booking.get("status"), status);
+            default:
+                throw new NoSuchStateException("Данный параметр поиска не поддерживается.");
+        }
+    }
+}
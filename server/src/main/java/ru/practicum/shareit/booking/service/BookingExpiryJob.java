@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.StaleBooking;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фоновая задача {@link BookingExpiryService}: обходит зависшие бронирования порциями по ключу (start, id),
+ * поэтому каждая следующая порция начинается с места, где закончилась предыдущая, без OFFSET.
+ * Метрики: shareit.booking.expiry.expired - сколько отклонено, shareit.booking.expiry.chunk - время порции,
+ * shareit.booking.expiry.lag - возраст самого старого необработанного бронирования после запуска.
+ */
+@Slf4j
+@Component
+public class BookingExpiryJob {
+
+    private final BookingExpiryService bookingExpiryService;
+    private final BookingExpiryProperties properties;
+    private final Counter expiredCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public BookingExpiryJob(BookingExpiryService bookingExpiryService, BookingExpiryProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.bookingExpiryService = bookingExpiryService;
+        this.properties = properties;
+        this.expiredCounter = Counter.builder("shareit.booking.expiry.expired")
+                .description("Зависшие WAITING-бронирования, переведённые в REJECTED")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("shareit.booking.expiry.chunk")
+                .description("Время обработки одной порции")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.lag", lagSeconds, AtomicLong::get)
+                .description("Возраст самого старого зависшего бронирования после запуска")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "#{@bookingExpiryProperties.delay.toMillis()}",
+            fixedDelayString = "#{@bookingExpiryProperties.delay.toMillis()}")
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StaleBooking after = null;
+        long expired = 0;
+        BookingExpiryService.Chunk chunk;
+        do {
+            StaleBooking cursor = after;
+            chunk = chunkTimer.record(() -> bookingExpiryService.expireChunk(now, cursor, properties.getChunkSize()));
+            expiredCounter.increment(chunk.getExpired());
+            expired += chunk.getExpired();
+            after = chunk.getLast();
+        } while (chunk.getSize() == properties.getChunkSize());
+
+        lagSeconds.set(bookingExpiryService.getLag(LocalDateTime.now()).getSeconds());
+        if (expired > 0) {
+            log.info("Отклонено {} бронирований, не подтверждённых до начала.", expired);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.expiry")
+public class BookingExpiryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Пауза между запусками задачи; первый запуск - через ту же паузу после старта.
+     */
+    private Duration delay = Duration.ofMinutes(1);
+
+    /**
+     * Сколько бронирований переводится одним UPDATE в одной транзакции.
+     */
+    private int chunkSize = 500;
+}
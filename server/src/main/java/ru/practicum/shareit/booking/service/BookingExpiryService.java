@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.StaleBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Переводит в REJECTED бронирования, оставшиеся в WAITING после своего начала: владелец не ответил,
+ * и подтверждать уже нечего. Каждая порция - отдельная транзакция с одним UPDATE под блокировками её вещей.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BookingExpiryService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingLocks itemBookingLocks;
+    private final BookingSummaryCache bookingSummaryCache;
+    private final ItemAvailabilityService itemAvailabilityService;
+
+    /**
+     * Отклоняет до size бронирований, начавшихся до now, следующих за after в порядке (start, id).
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public Chunk expireChunk(LocalDateTime now, @Nullable StaleBooking after, int size) {
+        Pageable page = PageRequest.of(0, size);
+        List<StaleBooking> chunk = after == null
+                ? bookingRepository.findStarted(BookingStatus.WAITING, now, page)
+                : bookingRepository.findStartedAfter(BookingStatus.WAITING, now, after.getStart(), after.getId(), page);
+        if (chunk.isEmpty()) {
+            return new Chunk(0, 0, null);
+        }
+
+        // Под блокировками вещей UPDATE не перезапишет подтверждение, которое владелец успел закоммитить,
+        // а условие на статус пропустит бронирования, подтверждённые между выборкой порции и блокировкой.
+        List<Long> itemIds = chunk.stream()
+                .map(StaleBooking::getItemId)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        return itemBookingLocks.inTransaction(itemIds, () -> expire(chunk, itemIds));
+    }
+
+    private Chunk expire(List<StaleBooking> chunk, List<Long> itemIds) {
+        List<Long> bookingIds = chunk.stream()
+                .map(StaleBooking::getId)
+                .collect(Collectors.toList());
+        int expired = bookingRepository.updateStatusByIdInAndStatus(bookingIds, BookingStatus.WAITING,
+                BookingStatus.REJECTED);
+
+        for (BookingInterval interval : bookingRepository.findIntervalsByIdIn(bookingIds)) {
+            bookingIntervalIndex.put(interval);
+        }
+        chunk.forEach(booking -> bookingSummaryCache.invalidate(booking.getBookerId(), booking.getOwnerId()));
+        itemIds.forEach(itemAvailabilityService::invalidate);
+
+        log.debug("Отклонено {} зависших бронирований из {}.", expired, chunk.size());
+        return new Chunk(chunk.size(), expired, chunk.get(chunk.size() - 1));
+    }
+
+    /**
+     * Возраст самого старого бронирования, которое ещё ждёт ответа после своего начала.
+     */
+    public Duration getLag(LocalDateTime now) {
+        return bookingRepository.findStarted(BookingStatus.WAITING, now, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(oldest -> Duration.between(oldest.getStart(), now))
+                .orElse(Duration.ZERO);
+    }
+
+    @Value
+    public static class Chunk {
+
+        /**
+         * Сколько бронирований было выбрано; меньше запрошенного - порций больше нет.
+         */
+        int size;
+
+        int expired;
+
+        @Nullable
+        StaleBooking last;
+    }
+}
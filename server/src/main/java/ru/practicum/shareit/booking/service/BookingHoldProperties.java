@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.holds")
+public class BookingHoldProperties {
+
+    private Duration defaultTtl = Duration.ofMinutes(1);
+
+    private Duration maxTtl = Duration.ofMinutes(10);
+
+    /**
+     * Сколько действующих удержаний может быть у одного пользователя сразу, по всем вещам.
+     */
+    private int maxPerHolder = 5;
+
+    /**
+     * Точность истечения удержаний: колесо таймеров продвигается раз в тик.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    private int wheelSize = 512;
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingHold;
+import ru.practicum.shareit.common.EntityNotFoundException;
+import ru.practicum.shareit.common.ForbiddenAccessToEntityException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Удержания периодов на время оформления бронирования: пока удержание действует, другие пользователи
+ * не могут ни забронировать, ни удержать пересекающийся период, а держатель подтверждает удержание
+ * обычным бронированием.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingHoldService {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingHolds bookingHolds;
+    private final ItemBookingLocks itemBookingLocks;
+    private final BookingHoldProperties properties;
+
+    public BookingHold hold(Long itemId, Long userId, BookingHoldFromRequest request) {
+        log.debug("Удержание периода вещи с id={} пользователем с id={}.", itemId, userId);
+
+        if (request.getStart() == null || request.getEnd() == null
+                || !request.getEnd().isAfter(request.getStart())) {
+            throw new BookingException("Дата начала бронирования должна быть раньше даты окончания.");
+        }
+        Duration ttl = ttl(request.getTtlSeconds());
+
+        return itemBookingLocks.inReadOnlyTransaction(itemId, () -> holdLocked(itemId, userId, request, ttl));
+    }
+
+    private BookingHold holdLocked(Long itemId, Long userId, BookingHoldFromRequest request, Duration ttl) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Вещь с id=" + itemId + " не найдена."));
+        if (!item.getAvailable()) {
+            throw new BookingException("Данная вещь недоступна для бронирования.");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь с id=" + userId + " не найден.");
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ForbiddenAccessToEntityException("Невозможно бронировать собственную вещь.");
+        }
+
+        bookingIntervalIndex.findOverlapping(itemId, request.getStart(), request.getEnd())
+                .ifPresent(overlapping -> {
+                    throw new BookingException("Вещь уже забронирована на выбранный период.");
+                });
+
+        return bookingHolds.tryHold(itemId, userId, request.getStart(), request.getEnd(), ttl)
+                .orElseThrow(() -> new BookingException(
+                        "Выбранный период временно удерживается другим пользователем."));
+    }
+
+    /**
+     * Оформляет бронирование удержанного периода и снимает удержание. Метод не транзакционный:
+     * бронирование сохраняется в собственной транзакции, и удержание снимается уже после её коммита.
+     */
+    public BookingResponse confirm(Long itemId, Long holdId, Long userId) {
+        log.debug("Подтверждение удержания с id={} пользователем с id={}.", holdId, userId);
+
+        BookingHold hold = getOwnHold(itemId, holdId, userId);
+
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setStart(hold.getStart());
+        booking.setEnd(hold.getEnd());
+        BookingResponse response = bookingService.add(booking, userId);
+
+        bookingHolds.remove(hold);
+        return response;
+    }
+
+    public void release(Long itemId, Long holdId, Long userId) {
+        log.debug("Снятие удержания с id={} пользователем с id={}.", holdId, userId);
+
+        bookingHolds.remove(getOwnHold(itemId, holdId, userId));
+    }
+
+    private BookingHold getOwnHold(Long itemId, Long holdId, Long userId) {
+        BookingHold hold = bookingHolds.get(holdId)
+                .filter(found -> found.getItemId().equals(itemId))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Удержание с id=" + holdId + " не найдено или истекло."));
+        if (!hold.getHolderId().equals(userId)) {
+            throw new ForbiddenAccessToEntityException("Распоряжаться удержанием может только его автор.");
+        }
+        return hold;
+    }
+
+    private Duration ttl(Integer ttlSeconds) {
+        if (ttlSeconds == null) {
+            return properties.getDefaultTtl();
+        }
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(properties.getMaxTtl()) > 0) {
+            throw new BookingException("Срок удержания должен быть от 1 до " + properties.getMaxTtl().getSeconds()
+                    + " секунд.");
+        }
+        return ttl;
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.BookingHold;
+import ru.practicum.shareit.common.TimerWheel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Удержания периодов вещей в памяти этого экземпляра сервера. Удержания вещи - неизменяемый список,
+ * который заменяется через {@link ConcurrentHashMap#compute}: проверка пересечения и вставка атомарны
+ * для одной вещи и не блокируют другие. Истёкшие удержания убирает колесо таймеров, а до того
+ * их пропускают все проверки. Один пользователь держит не больше max-per-holder удержаний: место под новое
+ * резервируется до вставки и освобождается, когда удержание снято или убрано колесом.
+ */
+@Slf4j
+@Component
+public class BookingHolds {
+
+    private final Clock clock;
+    private final int maxPerHolder;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, BookingHold> holdsById = new ConcurrentHashMap<>();
+    private final Map<Long, List<BookingHold>> holdsByItem = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> countsByHolder = new ConcurrentHashMap<>();
+    private final TimerWheel<BookingHold> expirations;
+
+    @Autowired
+    public BookingHolds(BookingHoldProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    BookingHolds(BookingHoldProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.maxPerHolder = properties.getMaxPerHolder();
+        this.expirations = new TimerWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                clock.millis());
+        Gauge.builder("shareit.booking.holds", holdsById, Map::size)
+                .description("Действующие удержания периодов вещей")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Удерживает период, если его не пересекает действующее удержание другого пользователя.
+     *
+     * @return пустой Optional, если период уже удержан другим пользователем
+     * @throws BookingException если у пользователя уже max-per-holder удержаний
+     */
+    public Optional<BookingHold> tryHold(Long itemId, Long holderId, LocalDateTime start, LocalDateTime end,
+                                        Duration ttl) {
+        if (!reserve(holderId)) {
+            throw new BookingException("Нельзя удерживать больше " + maxPerHolder + " периодов одновременно.");
+        }
+        Instant now = clock.instant();
+        BookingHold hold = new BookingHold(ids.incrementAndGet(), itemId, holderId, start, end, now.plus(ttl));
+        boolean[] added = new boolean[1];
+        holdsByItem.compute(itemId, (id, holds) -> {
+            List<BookingHold> active = new ArrayList<>();
+            if (holds != null) {
+                for (BookingHold other : holds) {
+                    if (other.isExpired(now)) {
+                        continue;
+                    }
+                    if (!other.getHolderId().equals(holderId) && other.overlaps(start, end)) {
+                        return holds;
+                    }
+                    active.add(other);
+                }
+            }
+            active.add(hold);
+            added[0] = true;
+            return Collections.unmodifiableList(active);
+        });
+        if (!added[0]) {
+            unreserve(holderId);
+            return Optional.empty();
+        }
+        holdsById.put(hold.getId(), hold);
+        expirations.schedule(hold, hold.getExpiresAt().toEpochMilli());
+        return Optional.of(hold);
+    }
+
+    /**
+     * Действующее удержание другого пользователя, пересекающее период.
+     */
+    public Optional<BookingHold> findConflicting(Long itemId, LocalDateTime start, LocalDateTime end, Long userId) {
+        List<BookingHold> holds = holdsByItem.get(itemId);
+        if (holds == null) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        return holds.stream()
+                .filter(hold -> !hold.isExpired(now))
+                .filter(hold -> !hold.getHolderId().equals(userId))
+                .filter(hold -> hold.overlaps(start, end))
+                .findFirst();
+    }
+
+    /**
+     * Действующие удержания вещи в порядке создания.
+     */
+    public List<BookingHold> getActive(Long itemId) {
+        List<BookingHold> holds = holdsByItem.get(itemId);
+        if (holds == null) {
+            return Collections.emptyList();
+        }
+        Instant now = clock.instant();
+        List<BookingHold> active = new ArrayList<>(holds.size());
+        for (BookingHold hold : holds) {
+            if (!hold.isExpired(now)) {
+                active.add(hold);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Вещи, у которых есть действующее удержание, пересекающее период. Проходит по всем удержаниям:
+     * их число ограничено max-per-holder на пользователя и сроком жизни.
+     */
+    public Set<Long> findItemIdsHeldBetween(LocalDateTime start, LocalDateTime end) {
+        Instant now = clock.instant();
+        Set<Long> itemIds = new HashSet<>();
+        holdsByItem.forEach((itemId, holds) -> {
+            for (BookingHold hold : holds) {
+                if (!hold.isExpired(now) && hold.overlaps(start, end)) {
+                    itemIds.add(itemId);
+                    return;
+                }
+            }
+        });
+        return itemIds;
+    }
+
+    public Optional<BookingHold> get(Long holdId) {
+        BookingHold hold = holdsById.get(holdId);
+        if (hold == null || hold.isExpired(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    public void remove(BookingHold hold) {
+        if (!holdsById.remove(hold.getId(), hold)) {
+            return;
+        }
+        unreserve(hold.getHolderId());
+        holdsByItem.computeIfPresent(hold.getItemId(), (id, holds) -> {
+            List<BookingHold> rest = new ArrayList<>(holds);
+            rest.remove(hold);
+            return rest.isEmpty() ? null : Collections.unmodifiableList(rest);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.holds.tick:PT1S}")
+    public void expire() {
+        expirations.advance(clock.millis(), hold -> {
+            log.debug("Удержание с id={} вещи с id={} истекло.", hold.getId(), hold.getItemId());
+            remove(hold);
+        });
+    }
+
+    private boolean reserve(Long holderId) {
+        boolean[] reserved = new boolean[1];
+        countsByHolder.compute(holderId, (id, count) -> {
+            int held = count == null ? 0 : count;
+            if (held >= maxPerHolder) {
+                return count;
+            }
+            reserved[0] = true;
+            return held + 1;
+        });
+        return reserved[0];
+    }
+
+    private void unreserve(Long holderId) {
+        countsByHolder.computeIfPresent(holderId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Интервалы активных (WAITING и APPROVED) и ещё не закончившихся бронирований каждой вещи.
+ * Изменения применяются после коммита транзакции, в которой они были сделаны; закончившиеся интервалы
+ * удаляются фоновой задачей. Шлюз не даёт бронировать прошедшие периоды, поэтому с ними новое бронирование
+ * пересечься не может.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    public static final Set<BookingStatus> ACTIVE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByStatusInAndEndAfter(ACTIVE_STATUSES,
+                LocalDateTime.now());
+        load(intervals);
+        log.info("Индекс интервалов бронирований заполнен: {} бронирований.", intervals.size());
+    }
+
+    public Optional<BookingInterval> findOverlapping(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return findOverlapping(itemId, start, end, interval -> true);
+    }
+
+    /**
+     * Первый пересекающий период интервал, подходящий под filter.
+     */
+    public Optional<BookingInterval> findOverlapping(Long itemId, LocalDateTime start, LocalDateTime end,
+                                                     Predicate<BookingInterval> filter) {
+        ItemIntervals itemIntervals = intervalsByItem.get(itemId);
+        if (itemIntervals == null) {
+            return Optional.empty();
+        }
+        return itemIntervals.findOverlapping(start, end, filter);
+    }
+
+    public void put(BookingInterval interval) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (ACTIVE_STATUSES.contains(interval.getStatus())) {
+                add(interval);
+            } else {
+                remove(interval);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "#{@bookingIntervalIndexProperties.evictionDelay.toMillis()}")
+    public void evictEnded() {
+        int evicted = evictEnded(LocalDateTime.now());
+        if (evicted > 0) {
+            log.debug("Из индекса интервалов бронирований удалено {} закончившихся бронирований.", evicted);
+        }
+    }
+
+    /**
+     * Удаляет интервалы, закончившиеся к now, и вещи, у которых интервалов не осталось.
+     */
+    int evictEnded(LocalDateTime now) {
+        int evicted = 0;
+        for (Long itemId : intervalsByItem.keySet()) {
+            int[] itemEvicted = new int[1];
+            intervalsByItem.computeIfPresent(itemId, (id, itemIntervals) -> {
+                itemEvicted[0] = itemIntervals.evictEnded(now);
+                return itemIntervals.isEmpty() ? null : itemIntervals;
+            });
+            evicted += itemEvicted[0];
+        }
+        return evicted;
+    }
+
+    int size() {
+        return intervalsByItem.values().stream()
+                .mapToInt(ItemIntervals::size)
+                .sum();
+    }
+
+    void load(Collection<BookingInterval> intervals) {
+        intervalsByItem.clear();
+        intervals.forEach(this::add);
+    }
+
+    /**
+     * Добавление идёт под блокировкой записи словаря, чтобы не попасть в набор, который
+     * одновременно удаляет {@link #evictEnded(LocalDateTime)}.
+     */
+    private void add(BookingInterval interval) {
+        intervalsByItem.compute(interval.getItemId(), (id, itemIntervals) -> {
+            ItemIntervals result = itemIntervals == null ? new ItemIntervals() : itemIntervals;
+            result.put(interval);
+            return result;
+        });
+    }
+
+    private void remove(BookingInterval interval) {
+        ItemIntervals itemIntervals = intervalsByItem.get(interval.getItemId());
+        if (itemIntervals != null) {
+            itemIntervals.remove(interval.getId());
+        }
+    }
+
+    private static final class ItemIntervals {
+
+        private final BookingIntervalTree tree = new BookingIntervalTree();
+
+        private final Map<Long, BookingInterval> byId = new HashMap<>();
+
+        synchronized Optional<BookingInterval> findOverlapping(LocalDateTime start, LocalDateTime end,
+                                                               Predicate<BookingInterval> filter) {
+            return tree.findFirstOverlapping(start, end, filter);
+        }
+
+        synchronized void put(BookingInterval interval) {
+            BookingInterval previous = byId.put(interval.getId(), interval);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.add(interval);
+        }
+
+        synchronized void remove(Long bookingId) {
+            BookingInterval previous = byId.remove(bookingId);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+        }
+
+        synchronized int evictEnded(LocalDateTime now) {
+            int evicted = 0;
+            for (Iterator<BookingInterval> iterator = byId.values().iterator(); iterator.hasNext(); ) {
+                BookingInterval interval = iterator.next();
+                if (!interval.getEnd().isAfter(now)) {
+                    iterator.remove();
+                    tree.remove(interval);
+                    evicted++;
+                }
+            }
+            return evicted;
+        }
+
+        synchronized boolean isEmpty() {
+            return byId.isEmpty();
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+    }
+}
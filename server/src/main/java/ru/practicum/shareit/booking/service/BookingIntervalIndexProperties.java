@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.interval-index")
+public class BookingIntervalIndexProperties {
+
+    /**
+     * Пауза между удалениями закончившихся интервалов из {@link BookingIntervalIndex}.
+     */
+    private Duration evictionDelay = Duration.ofMinutes(1);
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * AVL-дерево интервалов бронирований по (start, id), в каждом узле - наибольший конец интервала в поддереве.
+ * Поиск пропускает поддеревья, которые все закончились до начала периода, и всё, что начинается не раньше
+ * его конца, поэтому стоит O(log n + k), где k - число просмотренных пересекающих период интервалов,
+ * независимо от длительности самых длинных бронирований. Не потокобезопасно.
+ */
+final class BookingIntervalTree {
+
+    private static final Comparator<BookingInterval> BY_START_THEN_ID = Comparator
+            .comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getId);
+
+    private Node root;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Интервал с тем же id не должен уже лежать в дереве: сначала его нужно удалить.
+     */
+    void add(BookingInterval interval) {
+        root = add(root, interval);
+        size++;
+    }
+
+    boolean remove(BookingInterval interval) {
+        int sizeBefore = size;
+        root = remove(root, interval);
+        return size < sizeBefore;
+    }
+
+    /**
+     * Первый по (start, id) интервал, пересекающий [start, end) и подходящий под filter.
+     */
+    Optional<BookingInterval> findFirstOverlapping(LocalDateTime start, LocalDateTime end,
+                                                   Predicate<BookingInterval> filter) {
+        return Optional.ofNullable(findFirstOverlapping(root, start, end, filter));
+    }
+
+    private static BookingInterval findFirstOverlapping(Node node, LocalDateTime start, LocalDateTime end,
+                                                        Predicate<BookingInterval> filter) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return null;
+        }
+        BookingInterval found = findFirstOverlapping(node.left, start, end, filter);
+        if (found != null) {
+            return found;
+        }
+        if (!node.interval.getStart().isBefore(end)) {
+            return null;
+        }
+        if (node.interval.overlaps(start, end) && filter.test(node.interval)) {
+            return node.interval;
+        }
+        return findFirstOverlapping(node.right, start, end, filter);
+    }
+
+    private static Node add(Node node, BookingInterval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (BY_START_THEN_ID.compare(interval, node.interval) < 0) {
+            node.left = add(node.left, interval);
+        } else {
+            node.right = add(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = BY_START_THEN_ID.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = remove(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+
+        private final BookingInterval interval;
+
+        private Node left;
+
+        private Node right;
+
+        private int height = 1;
+
+        private LocalDateTime maxEnd;
+
+        Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
@@ -2,9 +2,13 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingSummary;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
@@ -14,7 +18,13 @@ public interface BookingService {
 
     BookingResponse getByBookingId(Long bookingId, Long userId);
 
-    Collection<BookingResponse> getByBookerId(StateFilter state, Long bookerId, int from, int size);
+    Collection<BookingResponse> getByBookerId(BookingFilter filter, Long bookerId, int from, int size);
 
-    Collection<BookingResponse> getByOwnerId(StateFilter state, Long ownerId, int from, int size);
+    Collection<BookingResponse> getByOwnerId(BookingFilter filter, Long ownerId, int from, int size);
+
+    List<BookingResponse> getByBookerId(BookingFilter filter, Long bookerId, BookingCursor cursor, int size);
+
+    List<BookingResponse> getByOwnerId(BookingFilter filter, Long ownerId, BookingCursor cursor, int size);
+
+    BookingSummary getSummary(BookingRole role, Long userId);
 }
@@ -2,28 +2,44 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.exception.BookingException;
-import ru.practicum.shareit.booking.exception.NoSuchStateException;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
 import ru.practicum.shareit.common.EntityNotFoundException;
 import ru.practicum.shareit.common.ForbiddenAccessToEntityException;
 import ru.practicum.shareit.common.PageableFactory;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,10 +51,18 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
     private final BookingMapper bookingMapper;
+    private final CommentMapper commentMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingHolds bookingHolds;
+    private final ItemBookingLocks itemBookingLocks;
+    private final BookingSummaryCache bookingSummaryCache;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemAvailabilityService itemAvailabilityService;
 
 
-    @Transactional
+    @Transactional(propagation = Propagation.NEVER)
     @Override
     public BookingResponse add(Booking booking, Long bookerId) {
         log.debug("Добавление нового бронирования для вещи с id={}.", booking.getItem().getId());
@@ -48,6 +72,10 @@ public class BookingServiceImpl implements BookingService {
         }
 
         final long itemId = booking.getItem().getId();
+        return itemBookingLocks.inTransaction(itemId, () -> addLocked(booking, itemId, bookerId));
+    }
+
+    private BookingResponse addLocked(Booking booking, long itemId, Long bookerId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с id=" + itemId + " не найдена."));
         if (!item.getAvailable()) {
@@ -60,18 +88,40 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenAccessToEntityException("Невозможно бронировать собственную вещь.");
         }
 
+        bookingIntervalIndex.findOverlapping(itemId, booking.getStart(), booking.getEnd())
+                .ifPresent(overlapping -> {
+                    throw new BookingException("Вещь уже забронирована на выбранный период.");
+                });
+        bookingHolds.findConflicting(itemId, booking.getStart(), booking.getEnd(), bookerId)
+                .ifPresent(hold -> {
+                    throw new BookingException("Выбранный период временно удерживается другим пользователем.");
+                });
+
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        return bookingMapper.toBookingResponse(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.put(BookingInterval.of(savedBooking));
+        bookingSummaryCache.invalidate(bookerId, item.getOwner().getId());
+        itemAvailabilityService.invalidate(itemId);
+        itemBookingSummaryService.actualize(List.of(item));
+
+        return bookingMapper.toBookingResponse(savedBooking);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NEVER)
     @Override
     public BookingResponse approve(Long bookingId, Boolean approved, Long ownerId) {
         log.debug("Обновление статуса бронирования вещи с id={}.", bookingId);
 
+        Long itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Бронирование с id=" + bookingId + " не найдено."));
+        // Статус читается уже под блокировкой: повторный запрос на подтверждение увидит результат первого.
+        return itemBookingLocks.inTransaction(itemId, () -> approveLocked(bookingId, itemId, approved, ownerId));
+    }
+
+    private BookingResponse approveLocked(Long bookingId, Long itemId, Boolean approved, Long ownerId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException("Бронирование с id=" + bookingId + " не найдено."));
 
@@ -86,8 +136,25 @@ public class BookingServiceImpl implements BookingService {
                     " возможно только владельцем вещи.");
         }
 
+        if (approved) {
+            bookingIntervalIndex.findOverlapping(itemId, booking.getStart(), booking.getEnd(),
+                    interval -> interval.getStatus() == BookingStatus.APPROVED && !interval.getId().equals(bookingId))
+                    .ifPresent(overlapping -> {
+                        throw new BookingException("Вещь уже забронирована на выбранный период.");
+                    });
+        }
+
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingMapper.toBookingResponse(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.put(BookingInterval.of(savedBooking));
+        bookingSummaryCache.invalidate(savedBooking.getBooker().getId(), ownerId);
+        itemAvailabilityService.invalidate(savedBooking.getItem().getId());
+        if (approved) {
+            savedBooking.getItem().setBookingSummary(itemBookingSummaryService.refresh(itemId));
+        }
+        itemBookingSummaryService.actualize(List.of(savedBooking.getItem()));
+
+        return bookingMapper.toBookingResponse(savedBooking);
     }
 
     @Override
@@ -101,93 +168,97 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenAccessToEntityException("Получение данных о бронировании доступно" +
                     " только автору бронирования или владельцу вещи.");
         }
+        itemBookingSummaryService.actualize(List.of(booking.getItem()));
 
         return bookingMapper.toBookingResponse(booking);
     }
 
     @Override
-    public Collection<BookingResponse> getByBookerId(StateFilter state, Long bookerId, int from, int size) {
+    public Collection<BookingResponse> getByBookerId(BookingFilter filter, Long bookerId, int from, int size) {
         log.debug("Получение списка бронирований пользователя с id={}.", bookerId);
 
-        userRepository.findById(bookerId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id=" + bookerId + " не найден."));
-
-        LocalDateTime currentTime = LocalDateTime.now();
-        Sort sortStartDesc = Sort.by(Sort.Direction.DESC, "start");
-        Pageable page = PageableFactory.getPageable(from, size, sortStartDesc);
-
-        switch (state) {
-            case ALL:
-                return bookingRepository.findByBookerId(bookerId, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case CURRENT:
-                return bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-                                bookerId, currentTime, currentTime, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case PAST:
-                return bookingRepository.findByBookerIdAndEndLessThan(bookerId, currentTime, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case FUTURE:
-                return bookingRepository.findByBookerIdAndStartGreaterThan(bookerId, currentTime, page)
-                        .stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case WAITING:
-            case APPROVED:
-            case REJECTED:
-                return bookingRepository.findByBookerIdAndStatusIs(bookerId,
-                                BookingStatus.valueOf(state.toString()), page)
-                        .stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            default:
-                throw new NoSuchStateException("Данный параметр поиска не поддерживается.");
-        }
+        return toBookingResponses(bookingRepository.findPage(specification(BookingRole.BOOKER, bookerId, filter),
+                PageableFactory.getPageable(from, size)));
     }
 
     @Override
-    public Collection<BookingResponse> getByOwnerId(StateFilter state, Long ownerId, int from, int size) {
+    public Collection<BookingResponse> getByOwnerId(BookingFilter filter, Long ownerId, int from, int size) {
         log.debug("Получение списка бронирований вещей по владельцу с id={}.", ownerId);
 
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id=" + ownerId + " не найден."));
+        return toBookingResponses(bookingRepository.findPage(specification(BookingRole.OWNER, ownerId, filter),
+                PageableFactory.getPageable(from, size)));
+    }
+
+    @Override
+    public List<BookingResponse> getByBookerId(BookingFilter filter, Long bookerId, BookingCursor cursor, int size) {
+        log.debug("Получение списка бронирований пользователя с id={} после {}.", bookerId, cursor);
 
-        LocalDateTime currentTime = LocalDateTime.now();
-        Sort sortStartDesc = Sort.by(Sort.Direction.DESC, "start");
-        Pageable page = PageableFactory.getPageable(from, size, sortStartDesc);
-
-        switch (state) {
-            case ALL:
-                return bookingRepository.findByItemOwnerId(ownerId, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case CURRENT:
-                return bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-                                ownerId, currentTime, currentTime, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case PAST:
-                return bookingRepository.findByItemOwnerIdAndEndLessThan(ownerId, currentTime, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case FUTURE:
-                return bookingRepository.findByItemOwnerIdAndStartGreaterThan(ownerId, currentTime, page)
-                        .stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            case WAITING:
-            case APPROVED:
-            case REJECTED:
-                return bookingRepository.findByItemOwnerIdAndStatusIs(ownerId,
-                                BookingStatus.valueOf(state.toString()), page)
-                        .stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .collect(Collectors.toList());
-            default:
-                throw new NoSuchStateException("Данный параметр поиска не поддерживается.");
+        return toBookingResponses(bookingRepository.findAllAfter(
+                specification(BookingRole.BOOKER, bookerId, filter), cursor, size));
+    }
+
+    @Override
+    public List<BookingResponse> getByOwnerId(BookingFilter filter, Long ownerId, BookingCursor cursor, int size) {
+        log.debug("Получение списка бронирований вещей по владельцу с id={} после {}.", ownerId, cursor);
+
+        return toBookingResponses(bookingRepository.findAllAfter(
+                specification(BookingRole.OWNER, ownerId, filter), cursor, size));
+    }
+
+    @Override
+    public BookingSummary getSummary(BookingRole role, Long userId) {
+        log.debug("Получение сводки бронирований пользователя с id={} в роли {}.", userId, role);
+
+        return bookingSummaryCache.get(role, userId, () -> {
+            userRepository.findById(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("Пользователь с id=" + userId + " не найден."));
+
+            return bookingRepository.summarize(BookingSpecifications.byRole(role, userId), LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Проверяет пользователя и фильтр и собирает условие списка.
+     */
+    private Specification<Booking> specification(BookingRole role, Long userId, BookingFilter filter) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id=" + userId + " не найден."));
+
+        if (filter.getRangeStart() != null && filter.getRangeEnd() != null
+                && filter.getRangeStart().isAfter(filter.getRangeEnd())) {
+            throw new BookingException("Начало периода должно быть не позже его окончания.");
         }
+
+        return BookingSpecifications.of(role, userId, filter, LocalDateTime.now());
+    }
+
+    /**
+     * Отзывы о вещах страницы и сводки их бронирований загружаются двумя запросами на всю страницу.
+     */
+    private List<BookingResponse> toBookingResponses(List<BookingView> bookings) {
+        if (bookings.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = bookings.stream()
+                .map(BookingView::getItemId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Set<CommentResponse>> commentsByItem = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentResponse, Collectors.toSet())));
+        Map<Long, ItemBookingSummary> summariesByItem = itemBookingSummaryService.getActual(itemIds);
+
+        return bookings.stream()
+                .map(booking -> {
+                    BookingResponse bookingResponse = bookingMapper.toBookingResponse(booking);
+                    ItemResponse item = bookingResponse.getItem();
+                    ItemBookingSummary summary = summariesByItem.get(booking.getItemId());
+                    item.setComments(commentsByItem.getOrDefault(booking.getItemId(), Collections.emptySet()));
+                    item.setLastBooking(bookingMapper.toLastBooking(summary));
+                    item.setNextBooking(bookingMapper.toNextBooking(summary));
+                    return bookingResponse;
+                })
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
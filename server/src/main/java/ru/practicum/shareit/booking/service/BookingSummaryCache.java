@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import java.util.function.Supplier;
+
+/**
+ * Сводки бронирований по пользователю и роли. Новое бронирование и ответ владельца вытесняют сводки
+ * автора и владельца после коммита; остальное устаревание, в том числе переход бронирований из будущих
+ * в текущие со временем, ограничено TTL.
+ */
+@Component
+public class BookingSummaryCache {
+
+    public static final String CACHE_NAME = "booking-summaries";
+
+    private final boolean enabled;
+    private final Cache<Key, BookingSummary> cache;
+
+    public BookingSummaryCache(BookingSummaryCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public BookingSummary get(BookingRole role, Long userId, Supplier<BookingSummary> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return cache.get(new Key(role, userId), key -> loader.get());
+    }
+
+    /**
+     * Вытесняет сводки автора бронирования и владельца вещи после коммита текущей транзакции.
+     */
+    public void invalidate(Long bookerId, Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            cache.invalidate(new Key(BookingRole.BOOKER, bookerId));
+            cache.invalidate(new Key(BookingRole.OWNER, ownerId));
+        });
+    }
+
+    @Value
+    private static class Key {
+        BookingRole role;
+        Long userId;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.summary-cache")
+public class BookingSummaryCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Сводка зависит от текущего времени, а запись через другой экземпляр сервера её не вытесняет,
+     * поэтому TTL короткий.
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.common.StripedLock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Блокировки бронирований вещи в пределах одного экземпляра сервера. Проверка пересечений и запись
+ * бронирования вещи выполняются в транзакции, которая открывается уже под её блокировкой и завершается
+ * до её снятия: к снятию изменения закоммичены и попали в {@link BookingIntervalIndex}, а поток,
+ * ожидающий блокировку, не занимает соединение из пула.
+ * Бронирования разных вещей блокируют друг друга, только если вещи попали на одну блокировку.
+ */
+@Component
+public class ItemBookingLocks {
+
+    private static final int STRIPES = 1024;
+
+    private final StripedLock locks = new StripedLock(STRIPES);
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public ItemBookingLocks(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public <T> T inTransaction(Long itemId, Supplier<T> action) {
+        return inTransaction(List.of(itemId), transactionTemplate, action);
+    }
+
+    public <T> T inReadOnlyTransaction(Long itemId, Supplier<T> action) {
+        return inTransaction(List.of(itemId), readOnlyTransactionTemplate, action);
+    }
+
+    /**
+     * Блокировки берутся в порядке itemIds: вызывающий передаёт их упорядоченными.
+     */
+    public <T> T inTransaction(Collection<Long> itemIds, Supplier<T> action) {
+        return inTransaction(itemIds, transactionTemplate, action);
+    }
+
+    private <T> T inTransaction(Collection<Long> itemIds, TransactionTemplate template, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Блокировка вещи берётся до начала транзакции: иначе ожидающий её "
+                    + "поток держит соединение с базой.");
+        }
+        List<Lock> acquired = new ArrayList<>(itemIds.size());
+        try {
+            for (Long itemId : itemIds) {
+                Lock lock = locks.get(itemId);
+                lock.lock();
+                acquired.add(lock);
+            }
+            return template.execute(status -> action.get());
+        } finally {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                acquired.get(i).unlock();
+            }
+        }
+    }
+}
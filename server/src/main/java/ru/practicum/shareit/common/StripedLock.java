@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фиксированный набор блокировок, между которыми распределяются ключи. Разные ключи могут попасть
+ * на одну блокировку, но один ключ всегда получает одну и ту же, и число блокировок не растёт с числом ключей.
+ */
+public class StripedLock {
+
+    private final Lock[] stripes;
+
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Число блокировок должно быть больше 0.");
+        }
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(Object key) {
+        int hash = key.hashCode();
+        // Перемешивание старших битов: последовательные id иначе ложатся на соседние блокировки одинаково.
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash * 0x9E3779B9, stripes.length)];
+    }
+}
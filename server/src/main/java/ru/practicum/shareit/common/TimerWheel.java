@@ -0,0 +1,93 @@
+package ru.practicum.shareit.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Хешированное колесо таймеров: wheelSize корзин по tickMillis миллисекунд. Постановка таймера - вставка
+ * в неблокирующую очередь своей корзины, без общих блокировок; продвижение колеса обходит только корзины
+ * наступивших тиков. Таймер, чей срок дальше одного оборота, остаётся в корзине до нужного оборота.
+ * Таймер, поставленный одновременно с обходом его корзины, может сработать на оборот позже,
+ * поэтому владельцы значений проверяют срок и сами.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Queue<Timeout<T>>> buckets;
+
+    /**
+     * Последний обработанный тик; пишет только {@link #advance}.
+     */
+    private volatile long currentTick;
+
+    public TimerWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Длительность тика и число корзин должны быть больше 0.");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = nowMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public void schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick + 1);
+        bucket(deadlineTick).add(new Timeout<>(value, deadlineTick));
+    }
+
+    /**
+     * Обрабатывает все тики до nowMillis и передаёт значения с наступившим сроком в onExpire.
+     */
+    public synchronized void advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        // После долгой паузы каждая корзина обходится один раз, а не на каждом пропущенном обороте.
+        long firstTick = Math.max(currentTick + 1, targetTick - buckets.size() + 1);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Queue<Timeout<T>> bucket = bucket(tick);
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                Timeout<T> timeout = bucket.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.deadlineTick <= targetTick) {
+                    onExpire.accept(timeout.value);
+                } else {
+                    bucket.add(timeout);
+                }
+            }
+        }
+        if (targetTick > currentTick) {
+            currentTick = targetTick;
+        }
+    }
+
+    public int size() {
+        return buckets.stream().mapToInt(Queue::size).sum();
+    }
+
+    private Queue<Timeout<T>> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private static final class Timeout<T> {
+
+        private final T value;
+        private final long deadlineTick;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@UtilityClass
+public class TransactionCallbacks {
+
+    /**
+     * Выполняет действие после коммита текущей транзакции или сразу, если транзакции нет.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполняет действие после завершения текущей транзакции, коммитом или откатом.
+     * Действия {@link #afterCommit} к этому моменту уже выполнены.
+     */
+    public static void afterCompletion(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,16 +1,25 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.BookingHold;
+import ru.practicum.shareit.booking.service.BookingHoldService;
 import ru.practicum.shareit.item.dto.CommentFromRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemFromRequest;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.TimeSlot;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -20,6 +29,8 @@ import java.util.Collection;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final BookingHoldService bookingHoldService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
 
@@ -51,9 +62,40 @@ public class ItemController {
     @GetMapping("/search")
     public Collection<ItemResponse> search(
             @RequestParam("text") String text,
+            @RequestParam(name = "start", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime end,
             @RequestParam(name = "from") int from,
             @RequestParam(name = "size") int size) {
-        return itemService.search(text, from, size);
+        if (start == null && end == null) {
+            return itemService.search(text, from, size);
+        }
+        return itemService.searchFreeBetween(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Collection<TimeSlot> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        return itemAvailabilityService.getFreeSlots(itemId, from, to);
+    }
+
+    @PostMapping("/{itemId}/holds")
+    public BookingHold hold(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId,
+                            @RequestBody BookingHoldFromRequest bookingHoldFromRequest) {
+        return bookingHoldService.hold(itemId, userId, bookingHoldFromRequest);
+    }
+
+    @PostMapping("/{itemId}/holds/{holdId}/confirm")
+    public BookingResponse confirmHold(@PathVariable Long itemId, @PathVariable Long holdId,
+                                       @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingHoldService.confirm(itemId, holdId, userId);
+    }
+
+    @DeleteMapping("/{itemId}/holds/{holdId}")
+    public void releaseHold(@PathVariable Long itemId, @PathVariable Long holdId,
+                            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        bookingHoldService.release(itemId, holdId, userId);
     }
 
     @PostMapping("/{itemId}/comment")
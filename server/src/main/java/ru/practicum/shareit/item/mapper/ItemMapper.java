@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.item.dto.ItemForRequestResponse;
@@ -16,7 +17,14 @@ public interface ItemMapper {
 
     Item toItem(ItemFromRequest itemFromRequest);
 
+    @Mapping(target = "lastBooking", source = "bookingSummary", qualifiedByName = "toLastBooking")
+    @Mapping(target = "nextBooking", source = "bookingSummary", qualifiedByName = "toNextBooking")
     ItemResponse toItemResponse(Item item);
 
+    @Mapping(target = "lastBooking", source = "bookingSummary", qualifiedByName = "toLastBooking")
+    @Mapping(target = "nextBooking", source = "bookingSummary", qualifiedByName = "toNextBooking")
+    @Mapping(target = "comments", ignore = true)
+    ItemResponse toItemResponseWithoutComments(Item item);
+
     ItemForRequestResponse toItemForRequestResponse(Item item);
 }
@@ -3,8 +3,6 @@ package ru.practicum.shareit.item.model;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.JoinFormula;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -38,21 +36,13 @@ public class Item {
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinFormula("(SELECT b.id FROM bookings b " +
-            "WHERE b.item_id = id " +
-            "AND b.start_time < LOCALTIMESTAMP(6) " +
-            "AND b.status = 'APPROVED' " +
-            "ORDER BY b.start_time DESC LIMIT 1)")
-    private Booking lastBooking;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinFormula("(SELECT b.id FROM bookings b " +
-            "WHERE b.item_id = id " +
-            "AND b.start_time > LOCALTIMESTAMP(6) " +
-            "AND b.status = 'APPROVED' " +
-            "ORDER BY b.start_time ASC LIMIT 1)")
-    private Booking nextBooking;
+    /**
+     * Строки сводки может не быть, поэтому связь необязательная и лениво не загружается:
+     * читатели вещей берут сводку тем же запросом через entity graph.
+     */
+    @OneToOne
+    @PrimaryKeyJoinColumn
+    private ItemBookingSummary bookingSummary;
 
     @OneToMany(mappedBy = "item")
     private Set<Comment> comments;
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "itemId")
+public class ItemBookingSummary {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booking_start")
+    private LocalDateTime lastBookingStart;
+
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+
+    @Column(name = "next_booking_end")
+    private LocalDateTime nextBookingEnd;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public void setLastBooking(Booking booking) {
+        lastBookingId = booking == null ? null : booking.getId();
+        lastBookingStart = booking == null ? null : booking.getStart();
+        lastBookingEnd = booking == null ? null : booking.getEnd();
+        lastBookerId = booking == null ? null : booking.getBooker().getId();
+    }
+
+    public void setNextBooking(Booking booking) {
+        nextBookingId = booking == null ? null : booking.getId();
+        nextBookingStart = booking == null ? null : booking.getStart();
+        nextBookingEnd = booking == null ? null : booking.getEnd();
+        nextBookerId = booking == null ? null : booking.getBooker().getId();
+    }
+
+    public boolean isStale(LocalDateTime now) {
+        return nextBookingStart != null && !nextBookingStart.isAfter(now);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Промежуток времени [start, end).
+ */
+@Value
+public class TimeSlot {
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+}
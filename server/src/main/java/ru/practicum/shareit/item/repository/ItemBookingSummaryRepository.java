@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    List<ItemBookingSummary> findByNextBookingStartLessThanEqual(LocalDateTime time);
+}
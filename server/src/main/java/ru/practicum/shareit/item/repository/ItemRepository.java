@@ -1,22 +1,111 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "bookingSummary")
+    Optional<Item> findById(Long itemId);
+
+    @EntityGraph(attributePaths = "bookingSummary")
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable page);
 
+    @EntityGraph(attributePaths = "bookingSummary")
     @Query("select i from Item as i where i.available = true " +
             "and (lower(i.name) like lower(concat('%', :searchQuery, '%')) " +
-                  "or lower(i.description) like lower(concat('%', :searchQuery, '%')))")
+                  "or lower(i.description) like lower(concat('%', :searchQuery, '%'))) " +
+            "order by i.id")
     List<Item> findAvailableBySubstring(String searchQuery, Pageable page);
 
+    @Query(value = "SELECT i.id FROM items AS i " +
+            "WHERE i.is_available = TRUE " +
+            "AND i.search_vector @@ (to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) DESC, " +
+            "i.id", nativeQuery = true)
+    List<Long> findAvailableIdsByFullText(String tsQuery, Pageable page);
+
+    /**
+     * Как {@link #findAvailableBySubstring}, но без вещей, у которых есть бронирование со статусом из statuses,
+     * пересекающееся с периодом [start, end).
+     */
+    @EntityGraph(attributePaths = "bookingSummary")
+    @Query("select i from Item as i where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', :searchQuery, '%')) " +
+                  "or lower(i.description) like lower(concat('%', :searchQuery, '%'))) " +
+            "and not exists (select b.id from Booking as b where b.item = i and b.status in :statuses " +
+                  "and b.start < :end and b.end > :start) " +
+            "order by i.id")
+    List<Item> findAvailableBySubstringAndFreeBetween(String searchQuery, LocalDateTime start, LocalDateTime end,
+                                                      Collection<BookingStatus> statuses, Pageable page);
+
+    /**
+     * Как {@link #findAvailableBySubstringAndFreeBetween}, но ещё и без вещей из excludedIds.
+     * excludedIds не может быть пустым: когда исключать нечего, нужен запрос без него.
+     */
+    @EntityGraph(attributePaths = "bookingSummary")
+    @Query("select i from Item as i where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', :searchQuery, '%')) " +
+                  "or lower(i.description) like lower(concat('%', :searchQuery, '%'))) " +
+            "and i.id not in :excludedIds " +
+            "and not exists (select b.id from Booking as b where b.item = i and b.status in :statuses " +
+                  "and b.start < :end and b.end > :start) " +
+            "order by i.id")
+    List<Item> findAvailableBySubstringAndFreeBetweenExcluding(String searchQuery, LocalDateTime start,
+                                                               LocalDateTime end, Collection<BookingStatus> statuses,
+                                                               Collection<Long> excludedIds, Pageable page);
+
+    /**
+     * Как {@link #findAvailableIdsByFullText}, но без вещей, у которых есть бронирование со статусом из statuses,
+     * пересекающееся с периодом [start, end).
+     */
+    @Query(value = "SELECT i.id FROM items AS i " +
+            "WHERE i.is_available = TRUE " +
+            "AND i.search_vector @@ (to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings AS b WHERE b.item_id = i.id AND b.status IN (:statuses) " +
+            "AND b.start_time < :end AND b.end_time > :start) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) DESC, " +
+            "i.id", nativeQuery = true)
+    List<Long> findAvailableIdsByFullTextAndFreeBetween(String tsQuery, LocalDateTime start, LocalDateTime end,
+                                                        Collection<String> statuses, Pageable page);
+
+    /**
+     * Как {@link #findAvailableIdsByFullTextAndFreeBetween}, но ещё и без вещей из excludedIds.
+     * excludedIds не может быть пустым: когда исключать нечего, нужен запрос без него.
+     */
+    @Query(value = "SELECT i.id FROM items AS i " +
+            "WHERE i.is_available = TRUE " +
+            "AND i.search_vector @@ (to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) " +
+            "AND i.id NOT IN (:excludedIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings AS b WHERE b.item_id = i.id AND b.status IN (:statuses) " +
+            "AND b.start_time < :end AND b.end_time > :start) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :tsQuery) || to_tsquery('simple', :tsQuery)) DESC, " +
+            "i.id", nativeQuery = true)
+    List<Long> findAvailableIdsByFullTextAndFreeBetweenExcluding(String tsQuery, LocalDateTime start,
+                                                                 LocalDateTime end, Collection<String> statuses,
+                                                                 Collection<Long> excludedIds, Pageable page);
+
+    @Query("select new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description) " +
+            "from Item as i where i.available = true and i.id > :afterId order by i.id")
+    List<ItemSearchDocument> findAvailableSearchDocuments(Long afterId, Pageable page);
+
+    @EntityGraph(attributePaths = "bookingSummary")
+    List<Item> findByIdIn(Collection<Long> itemIds);
+
+    @EntityGraph(attributePaths = "bookingSummary")
     List<Item> findAllByRequestId(Long requestId);
 
+    @EntityGraph(attributePaths = "bookingSummary")
     List<Item> findByRequestIdIn(List<Long> requestIds);
 }
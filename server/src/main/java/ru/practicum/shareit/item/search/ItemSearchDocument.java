@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Locale;
+
+/**
+ * Название и описание доступной вещи в нижнем регистре - то, с чем сравнивает lower(...) like в SQL-поиске.
+ */
+@Getter
+@ToString
+public class ItemSearchDocument {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+
+    public ItemSearchDocument(Long id, String name, String description) {
+        this.id = id;
+        this.name = name.toLowerCase(Locale.ROOT);
+        this.description = description.toLowerCase(Locale.ROOT);
+    }
+
+    public static ItemSearchDocument of(Item item) {
+        return new ItemSearchDocument(item.getId(), item.getName(), item.getDescription());
+    }
+
+    public boolean contains(String lowerCaseQuery) {
+        return name.contains(lowerCaseQuery) || description.contains(lowerCaseQuery);
+    }
+}
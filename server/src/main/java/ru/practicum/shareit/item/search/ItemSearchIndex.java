@@ -0,0 +1,177 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный инвертированный индекс по названию и описанию доступных вещей.
+ * Заполняется при старте, если выбран режим поиска {@link ItemSearchMode#INDEX}; изменения вещей
+ * применяются после коммита транзакции. Результаты совпадают с lower(...) like '%text%' и упорядочены по id.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int LOAD_CHUNK = 10_000;
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties itemSearchProperties;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, ItemSearchDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long lastId = 0;
+        List<ItemSearchDocument> chunk;
+        do {
+            chunk = itemRepository.findAvailableSearchDocuments(lastId, PageRequest.of(0, LOAD_CHUNK));
+            load(chunk);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK);
+        log.info("Поисковый индекс вещей заполнен: {} вещей, {} триграмм.", documents.size(), postings.size());
+    }
+
+    public boolean isEnabled() {
+        return itemSearchProperties.getMode() == ItemSearchMode.INDEX;
+    }
+
+    /**
+     * Индекс не отвечает на запросы короче триграммы и на запросы с символами, которые
+     * LIKE трактует как шаблон; такие запросы нужно выполнять в базе.
+     */
+    public boolean canSearch(String searchQuery) {
+        return isEnabled()
+                && searchQuery.length() >= GRAM
+                && searchQuery.indexOf('%') < 0
+                && searchQuery.indexOf('_') < 0
+                && searchQuery.indexOf('\\') < 0;
+    }
+
+    public List<Long> search(String searchQuery, long offset, int limit) {
+        String query = searchQuery.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (Long trigram : trigrams(query)) {
+                PostingList postingList = postings.get(trigram);
+                if (postingList == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(postingList);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList smallest = lists.get(0);
+            List<Long> itemIds = new ArrayList<>(limit);
+            long skipped = 0;
+            for (int i = 0; i < smallest.size() && itemIds.size() < limit; i++) {
+                long itemId = smallest.get(i);
+                if (!containsInAll(lists, itemId) || !documents.get(itemId).contains(query)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    itemIds.add(itemId);
+                }
+            }
+            return itemIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        ItemSearchDocument document = Boolean.TRUE.equals(item.getAvailable()) ? ItemSearchDocument.of(item) : null;
+        Long itemId = item.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(itemId);
+                if (document != null) {
+                    addDocument(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void load(Collection<ItemSearchDocument> chunk) {
+        lock.writeLock().lock();
+        try {
+            chunk.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(ItemSearchDocument document) {
+        documents.put(document.getId(), document);
+        for (Long trigram : trigrams(document)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(document.getId());
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        ItemSearchDocument document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (Long trigram : trigrams(document)) {
+            PostingList postingList = postings.get(trigram);
+            postingList.remove(itemId);
+            if (postingList.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long itemId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(itemId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> trigrams(ItemSearchDocument document) {
+        Set<Long> trigrams = trigrams(document.getName());
+        trigrams.addAll(trigrams(document.getDescription()));
+        return trigrams;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.item.search")
+public class ItemSearchProperties {
+
+    private ItemSearchMode mode = ItemSearchMode.LIKE;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class ItemSearchQueries {
+
+    /**
+     * Превращает строку поиска в tsquery, где каждое слово ищется по префиксу: "Дрель акк" -> "дрель:* & акк:*".
+     * Возвращает пустую строку, если в запросе нет ни одного слова.
+     */
+    public static String toPrefixTsQuery(String searchQuery) {
+        return Arrays.stream(searchQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
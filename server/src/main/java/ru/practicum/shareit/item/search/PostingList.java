@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный по возрастанию список id вещей, содержащих одну триграмму.
+ * Новые вещи получают больший id, поэтому добавление почти всегда идёт в конец массива.
+ */
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.item.availability-cache")
+public class ItemAvailabilityCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Бронирования через другой экземпляр сервера запись в кеше не вытесняют; TTL ограничивает её возраст.
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.BookingHold;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingHolds;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.common.EntityNotFoundException;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.model.TimeSlot;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Свободные промежутки вещи, в которые её можно забронировать. Занятое время - активные (WAITING и APPROVED)
+ * бронирования, которые ещё не закончились: они читаются одним запросом по индексу (item_id, end_time),
+ * сливаются одним проходом в непересекающиеся отрезки и кешируются по вещи. Любое изменение бронирований
+ * вещи вытесняет её запись после коммита. Действующие удержания тоже занимают время, для всех пользователей,
+ * включая держателя; они живут в памяти и добавляются к кешированным отрезкам при каждом запросе.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ItemAvailabilityService {
+
+    public static final String CACHE_NAME = "item-availability";
+
+    /**
+     * Длина окна, если его конец не задан.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHolds bookingHolds;
+    private final boolean cacheEnabled;
+    private final Cache<Long, List<TimeSlot>> busySlotsByItem;
+
+    public ItemAvailabilityService(ItemRepository itemRepository, BookingRepository bookingRepository,
+                                   BookingHolds bookingHolds, ItemAvailabilityCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingHolds = bookingHolds;
+        this.cacheEnabled = properties.isEnabled();
+        this.busySlotsByItem = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, busySlotsByItem, CACHE_NAME);
+    }
+
+    /**
+     * Свободные промежутки внутри [from, to). Прошедшее время свободным не считается: начало окна
+     * сдвигается на текущий момент. Без from окно начинается сейчас, без to длится {@link #DEFAULT_WINDOW}.
+     */
+    public List<TimeSlot> getFreeSlots(Long itemId, @Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+        log.debug("Получение свободного времени вещи с id={} с {} по {}.", itemId, from, to);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime windowEnd = to == null ? windowStart.plus(DEFAULT_WINDOW) : to;
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BookingException("Начало периода должно быть раньше его окончания.");
+        }
+
+        List<TimeSlot> busy = cacheEnabled
+                ? busySlotsByItem.get(itemId, this::loadBusySlots)
+                : loadBusySlots(itemId);
+        return freeSlots(withHolds(busy, bookingHolds.getActive(itemId)), windowStart, windowEnd);
+    }
+
+    public void invalidate(Long itemId) {
+        TransactionCallbacks.afterCommit(() -> busySlotsByItem.invalidate(itemId));
+    }
+
+    private List<TimeSlot> loadBusySlots(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Вещь с id=" + itemId + " не найдена.");
+        }
+
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemIdAndStatusInAndEndAfter(
+                itemId, BookingIntervalIndex.ACTIVE_STATUSES, LocalDateTime.now());
+        return Collections.unmodifiableList(merge(intervals));
+    }
+
+    /**
+     * Сливает пересекающиеся и смежные интервалы, упорядоченные по началу.
+     */
+    static List<TimeSlot> merge(List<BookingInterval> intervals) {
+        List<TimeSlot> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (BookingInterval interval : intervals) {
+            if (start != null && !interval.getStart().isAfter(end)) {
+                if (interval.getEnd().isAfter(end)) {
+                    end = interval.getEnd();
+                }
+                continue;
+            }
+            if (start != null) {
+                merged.add(new TimeSlot(start, end));
+            }
+            start = interval.getStart();
+            end = interval.getEnd();
+        }
+        if (start != null) {
+            merged.add(new TimeSlot(start, end));
+        }
+        return merged;
+    }
+
+    /**
+     * Отрезки busy и удержаний, упорядоченные по началу; удержания могут пересекать отрезки busy.
+     */
+    static List<TimeSlot> withHolds(List<TimeSlot> busy, List<BookingHold> holds) {
+        if (holds.isEmpty()) {
+            return busy;
+        }
+        List<TimeSlot> slots = new ArrayList<>(busy.size() + holds.size());
+        slots.addAll(busy);
+        for (BookingHold hold : holds) {
+            slots.add(new TimeSlot(hold.getStart(), hold.getEnd()));
+        }
+        slots.sort(Comparator.comparing(TimeSlot::getStart));
+        return slots;
+    }
+
+    /**
+     * Промежутки [from, to), не покрытые отрезками busy, упорядоченными по началу. Отрезки могут пересекаться.
+     */
+    static List<TimeSlot> freeSlots(List<TimeSlot> busy, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlot slot : busy) {
+            if (!cursor.isBefore(to) || !slot.getStart().isBefore(to)) {
+                break;
+            }
+            if (!slot.getEnd().isAfter(cursor)) {
+                continue;
+            }
+            if (slot.getStart().isAfter(cursor)) {
+                free.add(new TimeSlot(cursor, slot.getStart()));
+            }
+            cursor = slot.getEnd();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlot(cursor, to));
+        }
+        return free;
+    }
+}
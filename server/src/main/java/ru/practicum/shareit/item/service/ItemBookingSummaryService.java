@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает таблицу item_booking_summary с последним и следующим подтверждёнными бронированиями вещи.
+ * Сводка пересчитывается при подтверждении бронирования, а когда начало следующего бронирования
+ * наступает - фоновой задачей или при чтении вещи, если задача ещё не успела отработать.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+
+    @Transactional
+    public ItemBookingSummary create(Item item) {
+        ItemBookingSummary summary = itemBookingSummaryRepository.save(new ItemBookingSummary(item.getId()));
+        item.setBookingSummary(summary);
+        return summary;
+    }
+
+    @Transactional
+    public ItemBookingSummary refresh(Long itemId) {
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(itemId)
+                .orElseGet(() -> new ItemBookingSummary(itemId));
+        recalculate(summary, LocalDateTime.now());
+        return itemBookingSummaryRepository.save(summary);
+    }
+
+    /**
+     * Актуальные сводки вещей одним запросом - для списков, где вещи не загружаются сущностями.
+     */
+    public Map<Long, ItemBookingSummary> getActual(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        for (Long itemId : itemIds) {
+            summaries.put(itemId, actualize(itemId, summaries.get(itemId), now));
+        }
+        return summaries;
+    }
+
+    public void actualize(Collection<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Item item : items) {
+            item.setBookingSummary(actualize(item.getId(), item.getBookingSummary(), now));
+        }
+    }
+
+    /**
+     * Сводка вещи на момент now. Устаревшая пересчитывается в памяти. Если строки нет (вещь пропустила
+     * заполнение таблицы), сводка считается заново; в пишущей транзакции строка сразу сохраняется,
+     * в читающей остаётся только в памяти.
+     */
+    public ItemBookingSummary actualize(Long itemId, @Nullable ItemBookingSummary summary, LocalDateTime now) {
+        if (summary == null) {
+            log.warn("У вещи с id={} нет строки в сводке бронирований.", itemId);
+            summary = new ItemBookingSummary(itemId);
+            recalculate(summary, now);
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                summary = itemBookingSummaryRepository.save(summary);
+            }
+        } else if (summary.isStale(now)) {
+            recalculate(summary, now);
+        }
+        return summary;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.item-booking-summary.rollover-delay:PT1M}")
+    public void rollover() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemBookingSummary> staleSummaries = itemBookingSummaryRepository.findByNextBookingStartLessThanEqual(now);
+        if (staleSummaries.isEmpty()) {
+            return;
+        }
+
+        log.debug("Пересчёт сводки бронирований для {} вещей.", staleSummaries.size());
+        staleSummaries.forEach(summary -> recalculate(summary, now));
+    }
+
+    private void recalculate(ItemBookingSummary summary, LocalDateTime now) {
+        summary.setLastBooking(bookingRepository.findFirstByItemIdAndStatusIsAndStartLessThanOrderByStartDesc(
+                summary.getItemId(), BookingStatus.APPROVED, now).orElse(null));
+        summary.setNextBooking(bookingRepository.findFirstByItemIdAndStatusIsAndStartGreaterThanOrderByStartAsc(
+                summary.getItemId(), BookingStatus.APPROVED, now).orElse(null));
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -19,5 +20,10 @@ public interface ItemService {
 
     Collection<ItemResponse> search(String text, int from, int size);
 
+    /**
+     * Поиск доступных вещей, которые свободны весь период [start, end).
+     */
+    Collection<ItemResponse> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     CommentResponse addComment(Long itemId, Comment comment, Long userId);
 }
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.exception.BookingException;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingHolds;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.common.EntityNotFoundException;
 import ru.practicum.shareit.common.ForbiddenAccessToEntityException;
 import ru.practicum.shareit.common.PageableFactory;
@@ -17,12 +20,20 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.item.search.ItemSearchQueries;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,12 +42,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    /**
+     * Статусы занимающих время бронирований для нативного запроса, где статус хранится строкой.
+     */
+    private static final List<String> ACTIVE_STATUS_NAMES = BookingIntervalIndex.ACTIVE_STATUSES.stream()
+            .map(Enum::name)
+            .collect(Collectors.toList());
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemSearchProperties itemSearchProperties;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingHolds bookingHolds;
 
     @Transactional
     @Override
@@ -47,7 +69,11 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь с id=" + userId + " не найден."));
         item.setOwner(owner);
 
-        return itemMapper.toItemResponse(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemBookingSummaryService.create(savedItem);
+        itemSearchIndex.put(savedItem);
+
+        return itemMapper.toItemResponse(savedItem);
     }
 
     @Override
@@ -57,20 +83,21 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с id=" + itemId + " не найдена."));
 
+        ItemResponse itemResponse = toItemResponses(List.of(item)).get(0);
+
         if (!item.getOwner().getId().equals(userId)) {
-            item.setLastBooking(null);
-            item.setNextBooking(null);
+            itemResponse.setLastBooking(null);
+            itemResponse.setNextBooking(null);
         }
-        return itemMapper.toItemResponse(item);
+        return itemResponse;
     }
 
     @Override
     public Collection<ItemResponse> getAllByOwnerId(Long userId, int from, int size) {
         log.debug("Получение списка вещей пользователя с id={}.", userId);
 
-        return itemRepository.findByOwnerIdOrderByIdAsc(userId, PageableFactory.getPageable(from, size)).stream()
-                .map(itemMapper::toItemResponse)
-                .collect(Collectors.toList());
+        return toItemResponses(itemRepository.findByOwnerIdOrderByIdAsc(userId,
+                PageableFactory.getPageable(from, size)));
     }
 
     @Transactional
@@ -94,7 +121,11 @@ public class ItemServiceImpl implements ItemService {
             itemToUpdate.setAvailable(item.getAvailable());
         }
 
-        return itemMapper.toItemResponse(itemRepository.save(itemToUpdate));
+        itemBookingSummaryService.actualize(List.of(itemToUpdate));
+        Item savedItem = itemRepository.save(itemToUpdate);
+        itemSearchIndex.put(savedItem);
+
+        return itemMapper.toItemResponse(savedItem);
     }
 
     @Override
@@ -105,9 +136,58 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        return itemRepository.findAvailableBySubstring(searchQuery, PageableFactory.getPageable(from, size)).stream()
-                .map(itemMapper::toItemResponse)
-                .collect(Collectors.toList());
+        Pageable page = PageableFactory.getPageable(from, size);
+        switch (itemSearchProperties.getMode()) {
+            case FULL_TEXT:
+                return toItemResponses(searchFullText(searchQuery, page));
+            case INDEX:
+                if (itemSearchIndex.canSearch(searchQuery)) {
+                    return toItemResponses(findByIdsInOrder(
+                            itemSearchIndex.search(searchQuery, page.getOffset(), page.getPageSize())));
+                }
+                return toItemResponses(itemRepository.findAvailableBySubstring(searchQuery, page));
+            case LIKE:
+            default:
+                return toItemResponses(itemRepository.findAvailableBySubstring(searchQuery, page));
+        }
+    }
+
+    @Override
+    public Collection<ItemResponse> searchFreeBetween(String searchQuery, LocalDateTime start, LocalDateTime end,
+                                                      int from, int size) {
+        log.debug("Поиск вещей по запросу \"{}\", свободных с {} по {}.", searchQuery, start, end);
+
+        if (start == null || end == null) {
+            throw new BookingException("Период должен быть задан началом и окончанием.");
+        }
+        if (!start.isBefore(end)) {
+            throw new BookingException("Начало периода должно быть раньше его окончания.");
+        }
+        if (searchQuery.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        Pageable page = PageableFactory.getPageable(from, size);
+        // Удержанные на период вещи заняты для всех, включая держателя, как и в ItemAvailabilityService.
+        Set<Long> heldItemIds = bookingHolds.findItemIdsHeldBetween(start, end);
+        // Индекс в памяти о бронированиях не знает, поэтому в режиме INDEX поиск идёт подстрокой в базе.
+        if (itemSearchProperties.getMode() == ItemSearchMode.FULL_TEXT) {
+            String tsQuery = ItemSearchQueries.toPrefixTsQuery(searchQuery);
+            if (tsQuery.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // Пустой список в NOT IN Postgres не примет, поэтому без удержаний - запрос без исключений.
+            return toItemResponses(findByIdsInOrder(heldItemIds.isEmpty()
+                    ? itemRepository.findAvailableIdsByFullTextAndFreeBetween(
+                            tsQuery, start, end, ACTIVE_STATUS_NAMES, page)
+                    : itemRepository.findAvailableIdsByFullTextAndFreeBetweenExcluding(
+                            tsQuery, start, end, ACTIVE_STATUS_NAMES, heldItemIds, page)));
+        }
+        return toItemResponses(heldItemIds.isEmpty()
+                ? itemRepository.findAvailableBySubstringAndFreeBetween(
+                        searchQuery, start, end, BookingIntervalIndex.ACTIVE_STATUSES, page)
+                : itemRepository.findAvailableBySubstringAndFreeBetweenExcluding(
+                        searchQuery, start, end, BookingIntervalIndex.ACTIVE_STATUSES, heldItemIds, page));
     }
 
     @Transactional
@@ -129,4 +209,48 @@ public class ItemServiceImpl implements ItemService {
 
         return commentMapper.toCommentResponse(commentRepository.save(comment));
     }
+
+    private List<Item> searchFullText(String searchQuery, Pageable page) {
+        String tsQuery = ItemSearchQueries.toPrefixTsQuery(searchQuery);
+        if (tsQuery.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return findByIdsInOrder(itemRepository.findAvailableIdsByFullText(tsQuery, page));
+    }
+
+    private List<Item> findByIdsInOrder(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(itemsById::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemResponse> toItemResponses(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        itemBookingSummaryService.actualize(items);
+
+        Map<Long, Set<CommentResponse>> commentsByItem = commentRepository.findByItemIdIn(items.stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentResponse, Collectors.toSet())));
+
+        return items.stream()
+                .map(item -> {
+                    ItemResponse itemResponse = itemMapper.toItemResponseWithoutComments(item);
+                    itemResponse.setComments(commentsByItem.getOrDefault(item.getId(), Collections.emptySet()));
+                    return itemResponse;
+                })
+                .collect(Collectors.toList());
+    }
 }
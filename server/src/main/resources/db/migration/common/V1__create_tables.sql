@@ -0,0 +1,50 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE
+    );
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    requester_id BIGINT REFERENCES users(id),
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    is_available BOOLEAN DEFAULT FALSE,
+    owner_id BIGINT REFERENCES users(id),
+    request_id bigint REFERENCES requests(id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT REFERENCES items(id),
+    booker_id BIGINT REFERENCES users(id),
+    status VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    text VARCHAR(512) NOT NULL,
+    item_id BIGINT REFERENCES items(id),
+    author_id BIGINT REFERENCES users(id),
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT PRIMARY KEY REFERENCES items(id) ON DELETE CASCADE,
+    last_booking_id BIGINT,
+    last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    last_booker_id BIGINT,
+    next_booking_id BIGINT,
+    next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booker_id BIGINT
+);
@@ -0,0 +1,19 @@
+-- Списки бронирований пользователя: ALL/CURRENT/FUTURE и курсор по (start_time desc, id desc), WAITING/APPROVED/REJECTED, PAST
+CREATE INDEX IF NOT EXISTS bookings_booker_start_id_idx ON bookings (booker_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, start_time DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_end_idx ON bookings (booker_id, end_time);
+
+-- Списки бронирований владельца (через items.owner_id) и последнее/следующее бронирование вещи
+CREATE INDEX IF NOT EXISTS bookings_item_start_id_idx ON bookings (item_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_time);
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item_id, end_time);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS requests_requester_idx ON requests (requester_id);
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC);
+
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_idx ON item_booking_summary (next_booking_start);
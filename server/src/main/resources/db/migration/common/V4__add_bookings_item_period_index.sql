@@ -0,0 +1,2 @@
+-- Поиск свободных вещей: NOT EXISTS по пересекающимся бронированиям вещи (start_time < :end AND end_time > :start)
+CREATE INDEX IF NOT EXISTS bookings_item_start_end_idx ON bookings (item_id, start_time, end_time);
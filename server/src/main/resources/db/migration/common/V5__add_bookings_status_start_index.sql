@@ -0,0 +1,2 @@
+-- Истечение зависших WAITING-бронирований: keyset-обход по (start_time, id) среди бронирований со статусом
+CREATE INDEX IF NOT EXISTS bookings_status_start_id_idx ON bookings (status, start_time, id);
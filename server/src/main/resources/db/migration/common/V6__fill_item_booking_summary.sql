@@ -0,0 +1,18 @@
+-- Сводка для вещей, созданных до появления item_booking_summary: V1 создаёт таблицу пустой.
+-- Последнее и следующее подтверждённые бронирования считаются так же, как в ItemBookingSummaryService.
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booking_start, last_booking_end, last_booker_id,
+                                  next_booking_id, next_booking_start, next_booking_end, next_booker_id)
+SELECT i.id,
+       lb.id, lb.start_time, lb.end_time, lb.booker_id,
+       nb.id, nb.start_time, nb.end_time, nb.booker_id
+FROM items AS i
+LEFT JOIN bookings AS lb ON lb.id = (SELECT b.id FROM bookings AS b
+                                     WHERE b.item_id = i.id AND b.status = 'APPROVED'
+                                       AND b.start_time < LOCALTIMESTAMP
+                                     ORDER BY b.start_time DESC LIMIT 1)
+LEFT JOIN bookings AS nb ON nb.id = (SELECT b.id FROM bookings AS b
+                                     WHERE b.item_id = i.id AND b.status = 'APPROVED'
+                                       AND b.start_time > LOCALTIMESTAMP
+                                     ORDER BY b.start_time ASC LIMIT 1)
+WHERE NOT EXISTS (SELECT 1 FROM item_booking_summary AS s WHERE s.item_id = i.id);
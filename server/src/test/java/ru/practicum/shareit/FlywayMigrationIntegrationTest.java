@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Миграции на базе, созданной старым schema.sql и уже заполненной данными: baseline-on-migrate с версии 0,
+ * как в application.properties. Postgres проверяется в отдельной схеме, если задан SHAREIT_EXPLAIN_DB_URL.
+ */
+class FlywayMigrationIntegrationTest {
+
+    private static final String POSTGRES_SCHEMA = "shareit_legacy_migration";
+
+    @Test
+    void migrate_existingH2Database_fillsItemBookingSummary() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "test", "test");
+        try {
+            migrateAndCheck(dataSource, "classpath:db/migration/common");
+        } finally {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "SHAREIT_EXPLAIN_DB_URL", matches = ".+")
+    void migrate_existingPostgresDatabase_fillsItemBookingSummary() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getenv("SHAREIT_EXPLAIN_DB_URL"),
+                System.getenv().getOrDefault("SHAREIT_EXPLAIN_DB_USER", "postgres"),
+                System.getenv().getOrDefault("SHAREIT_EXPLAIN_DB_PASSWORD", "postgres"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + POSTGRES_SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + POSTGRES_SCHEMA);
+        dataSource.setSchema(POSTGRES_SCHEMA);
+        try {
+            migrateAndCheck(dataSource, "classpath:db/migration/common", "classpath:db/migration/postgresql");
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA " + POSTGRES_SCHEMA + " CASCADE");
+        }
+    }
+
+    private void migrateAndCheck(DriverManagerDataSource dataSource, String... locations) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'Joe', 'joe@mail.com'), " +
+                "(2, 'Bob', 'bob@mail.com'), (3, 'Ann', 'ann@mail.com')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) VALUES " +
+                "(1, 'Дрель', 'Ударная', TRUE, 1), (2, 'Пила', 'Цепная', TRUE, 1), " +
+                "(3, 'Лестница', 'Складная', TRUE, 1)");
+        insertBooking(jdbcTemplate, 1, 1, 2, now.minusDays(10), now.minusDays(9), "APPROVED");
+        insertBooking(jdbcTemplate, 2, 1, 3, now.minusDays(5), now.minusDays(4), "APPROVED");
+        insertBooking(jdbcTemplate, 3, 1, 2, now.minusDays(2), now.minusDays(1), "REJECTED");
+        insertBooking(jdbcTemplate, 4, 1, 2, now.plusDays(1), now.plusDays(2), "WAITING");
+        insertBooking(jdbcTemplate, 5, 1, 3, now.plusDays(3), now.plusDays(4), "APPROVED");
+        insertBooking(jdbcTemplate, 6, 1, 2, now.plusDays(6), now.plusDays(7), "APPROVED");
+        insertBooking(jdbcTemplate, 7, 3, 2, now.plusDays(1), now.plusDays(2), "WAITING");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(locations)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM item_booking_summary", Integer.class));
+
+        Map<String, Object> drill = summary(jdbcTemplate, 1);
+        assertEquals(2L, ((Number) drill.get("last_booking_id")).longValue());
+        assertEquals(3L, ((Number) drill.get("last_booker_id")).longValue());
+        assertEquals(Timestamp.valueOf(now.minusDays(5)), drill.get("last_booking_start"));
+        assertEquals(5L, ((Number) drill.get("next_booking_id")).longValue());
+        assertEquals(3L, ((Number) drill.get("next_booker_id")).longValue());
+        assertEquals(Timestamp.valueOf(now.plusDays(4)), drill.get("next_booking_end"));
+
+        for (long itemId : new long[]{2, 3}) {
+            Map<String, Object> empty = summary(jdbcTemplate, itemId);
+            assertNull(empty.get("last_booking_id"));
+            assertNull(empty.get("next_booking_id"));
+        }
+    }
+
+    private static void insertBooking(JdbcTemplate jdbcTemplate, long id, long itemId, long bookerId,
+                                      LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (id, start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", id, Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, bookerId,
+                status);
+    }
+
+    private static Map<String, Object> summary(JdbcTemplate jdbcTemplate, long itemId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM item_booking_summary WHERE item_id = ?", itemId);
+    }
+}
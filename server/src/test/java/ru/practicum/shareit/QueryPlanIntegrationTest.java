@@ -0,0 +1,174 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Проверяет, что запросы репозиториев обслуживаются индексами: с enable_seqscan = off планировщик выбирает
+ * последовательное чтение, только если подходящего индекса нет. SQL повторяет запросы, которые строит
+ * Hibernate для соответствующих методов. Не проверяются findAvailableBySubstring (поиск подстроки, для
+ * Postgres есть полнотекстовый режим) и findIntervalsByStatusInAndEndAfter (однократно читает все активные
+ * бронирования).
+ * Запускается только с Postgres: SHAREIT_EXPLAIN_DB_URL=jdbc:postgresql://host:port/db
+ * (и при необходимости SHAREIT_EXPLAIN_DB_USER, SHAREIT_EXPLAIN_DB_PASSWORD).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=${SHAREIT_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${SHAREIT_EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${SHAREIT_EXPLAIN_DB_PASSWORD:postgres}",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/postgresql"
+})
+@EnabledIfEnvironmentVariable(named = "SHAREIT_EXPLAIN_DB_URL", matches = ".+")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanIntegrationTest {
+
+    private static final String BOOKINGS_ORDER = " ORDER BY b.start_time DESC, b.id DESC LIMIT 10";
+
+    private static final String BOOKING_VIEW = "SELECT b.id, b.status, b.start_time, b.end_time, i.id, i.name, " +
+            "i.description, i.is_available, i.request_id, u.id, u.name, u.email FROM bookings AS b " +
+            "JOIN items AS i ON i.id = b.item_id JOIN users AS u ON u.id = b.booker_id";
+
+    private static final String BOOKER_BOOKINGS = BOOKING_VIEW + " WHERE b.booker_id = 1";
+
+    private static final String OWNER_BOOKINGS = BOOKING_VIEW + " WHERE i.owner_id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("BookingRepository.findPage (booker, ALL)", BOOKER_BOOKINGS + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, CURRENT)",
+                        BOOKER_BOOKINGS + " AND b.start_time <= LOCALTIMESTAMP AND b.end_time >= LOCALTIMESTAMP"
+                                + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, PAST)",
+                        BOOKER_BOOKINGS + " AND b.end_time < LOCALTIMESTAMP" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, FUTURE)",
+                        BOOKER_BOOKINGS + " AND b.start_time > LOCALTIMESTAMP" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, WAITING)",
+                        BOOKER_BOOKINGS + " AND b.status = 'WAITING'" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, statuses)",
+                        BOOKER_BOOKINGS + " AND b.status IN ('WAITING', 'APPROVED')" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, itemId)",
+                        BOOKER_BOOKINGS + " AND b.item_id = 1" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (booker, range)",
+                        BOOKER_BOOKINGS + " AND b.end_time >= LOCALTIMESTAMP " +
+                                "AND b.start_time <= LOCALTIMESTAMP + INTERVAL '7 days'" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findAllAfter (booker)",
+                        BOOKER_BOOKINGS + " AND (b.start_time < LOCALTIMESTAMP " +
+                                "OR b.start_time = LOCALTIMESTAMP AND b.id < 100)" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, ALL)", OWNER_BOOKINGS + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, CURRENT)",
+                        OWNER_BOOKINGS + " AND b.start_time <= LOCALTIMESTAMP AND b.end_time >= LOCALTIMESTAMP"
+                                + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, PAST)",
+                        OWNER_BOOKINGS + " AND b.end_time < LOCALTIMESTAMP" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, FUTURE)",
+                        OWNER_BOOKINGS + " AND b.start_time > LOCALTIMESTAMP" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, WAITING)",
+                        OWNER_BOOKINGS + " AND b.status = 'WAITING'" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.findPage (owner, itemId)",
+                        OWNER_BOOKINGS + " AND b.item_id = 1" + BOOKINGS_ORDER),
+                Arguments.of("BookingRepository.summarize (booker)",
+                        "SELECT count(b.id), count(CASE WHEN b.end_time < LOCALTIMESTAMP THEN b.id END), " +
+                                "count(CASE WHEN b.status = 'WAITING' THEN b.id END) FROM bookings AS b " +
+                                "WHERE b.booker_id = 1"),
+                Arguments.of("BookingRepository.summarize (owner)",
+                        "SELECT count(b.id), count(CASE WHEN b.end_time < LOCALTIMESTAMP THEN b.id END), " +
+                                "count(CASE WHEN b.status = 'WAITING' THEN b.id END) FROM bookings AS b " +
+                                "JOIN items AS i ON i.id = b.item_id WHERE i.owner_id = 1"),
+                Arguments.of("BookingRepository.findIntervalsByItemIdAndStatusInAndEndAfter",
+                        "SELECT b.id, b.item_id, b.status, b.start_time, b.end_time FROM bookings AS b " +
+                                "WHERE b.item_id = 1 AND b.status IN ('WAITING', 'APPROVED') " +
+                                "AND b.end_time > LOCALTIMESTAMP ORDER BY b.start_time"),
+                Arguments.of("BookingRepository.findStarted",
+                        "SELECT b.id, b.start_time FROM bookings AS b " +
+                                "WHERE b.status = 'WAITING' AND b.start_time < LOCALTIMESTAMP " +
+                                "ORDER BY b.start_time, b.id LIMIT 500"),
+                Arguments.of("BookingRepository.findStartedAfter",
+                        "SELECT b.id, b.start_time FROM bookings AS b " +
+                                "WHERE b.status = 'WAITING' AND b.start_time < LOCALTIMESTAMP " +
+                                "AND (b.start_time > LOCALTIMESTAMP - INTERVAL '1 day' " +
+                                "OR (b.start_time = LOCALTIMESTAMP - INTERVAL '1 day' AND b.id > 1)) " +
+                                "ORDER BY b.start_time, b.id LIMIT 500"),
+                Arguments.of("BookingRepository.findFirstByBookerIdAndItemIdAndEndBefore",
+                        "SELECT * FROM bookings AS b WHERE b.booker_id = 1 AND b.item_id = 1 " +
+                                "AND b.end_time < LOCALTIMESTAMP LIMIT 1"),
+                Arguments.of("BookingRepository.findFirstByItemIdAndStatusIsAndStartLessThanOrderByStartDesc",
+                        "SELECT * FROM bookings AS b WHERE b.item_id = 1 AND b.status = 'APPROVED' " +
+                                "AND b.start_time < LOCALTIMESTAMP ORDER BY b.start_time DESC LIMIT 1"),
+                Arguments.of("BookingRepository.findFirstByItemIdAndStatusIsAndStartGreaterThanOrderByStartAsc",
+                        "SELECT * FROM bookings AS b WHERE b.item_id = 1 AND b.status = 'APPROVED' " +
+                                "AND b.start_time > LOCALTIMESTAMP ORDER BY b.start_time LIMIT 1"),
+                Arguments.of("ItemRepository.findByOwnerIdOrderByIdAsc",
+                        "SELECT * FROM items AS i WHERE i.owner_id = 1 ORDER BY i.id LIMIT 10"),
+                Arguments.of("ItemRepository.findAvailableIdsByFullText",
+                        "SELECT i.id FROM items AS i WHERE i.is_available = TRUE " +
+                                "AND i.search_vector @@ to_tsquery('simple', 'дрель:*')"),
+                Arguments.of("ItemRepository.findAvailableIdsByFullTextAndFreeBetween",
+                        "SELECT i.id FROM items AS i WHERE i.is_available = TRUE " +
+                                "AND i.search_vector @@ to_tsquery('simple', 'дрель:*') " +
+                                "AND NOT EXISTS (SELECT 1 FROM bookings AS b WHERE b.item_id = i.id " +
+                                "AND b.status IN ('WAITING', 'APPROVED') " +
+                                "AND b.start_time < LOCALTIMESTAMP + INTERVAL '3 days' " +
+                                "AND b.end_time > LOCALTIMESTAMP + INTERVAL '1 day')"),
+                Arguments.of("ItemRepository.findAvailableIdsByFullTextAndFreeBetweenExcluding",
+                        "SELECT i.id FROM items AS i WHERE i.is_available = TRUE " +
+                                "AND i.search_vector @@ to_tsquery('simple', 'дрель:*') " +
+                                "AND i.id NOT IN (1, 2, 3) " +
+                                "AND NOT EXISTS (SELECT 1 FROM bookings AS b WHERE b.item_id = i.id " +
+                                "AND b.status IN ('WAITING', 'APPROVED') " +
+                                "AND b.start_time < LOCALTIMESTAMP + INTERVAL '3 days' " +
+                                "AND b.end_time > LOCALTIMESTAMP + INTERVAL '1 day')"),
+                Arguments.of("ItemRepository.findAllByRequestId",
+                        "SELECT * FROM items AS i WHERE i.request_id = 1"),
+                Arguments.of("ItemRepository.findByRequestIdIn",
+                        "SELECT * FROM items AS i WHERE i.request_id IN (1, 2, 3)"),
+                Arguments.of("CommentRepository.findByItemIdIn",
+                        "SELECT * FROM comments AS c JOIN users AS u ON u.id = c.author_id " +
+                                "WHERE c.item_id IN (1, 2, 3)"),
+                Arguments.of("ItemRequestRepository.findAllByRequesterId",
+                        "SELECT * FROM requests AS r WHERE r.requester_id = 1"),
+                Arguments.of("ItemRequestRepository.findAllByRequesterIdNot",
+                        "SELECT * FROM requests AS r WHERE r.requester_id <> 1 ORDER BY r.created DESC LIMIT 10"),
+                Arguments.of("ItemBookingSummaryRepository.findByNextBookingStartLessThanEqual",
+                        "SELECT * FROM item_booking_summary AS s WHERE s.next_booking_start <= LOCALTIMESTAMP")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void explain_whenSequentialScanDisabled_thenIndexIsUsed(String method, String sql) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                try {
+                    StringBuilder lines = new StringBuilder();
+                    try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                        while (resultSet.next()) {
+                            lines.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                    return lines.toString();
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+
+        assertFalse(plan.contains("Seq Scan"), method + " читает таблицу целиком:\n" + plan);
+    }
+}
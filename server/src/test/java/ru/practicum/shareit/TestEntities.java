@@ -0,0 +1,48 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Заготовки сущностей для тестов. Сохраняет их сам тест - через сервис или репозиторий.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+
+    public static Item item(String name, String description) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+
+    public static Booking booking(Item item, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+
+    /**
+     * Бронирование вещи, от которой известен только id: его можно отдать сервису из любого потока и транзакции.
+     */
+    public static Booking booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(itemId);
+        return booking(item, start, end);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingCursorPaginationIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    User owner;
+
+    User booker;
+
+    List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        for (int i = 0; i < 3; i++) {
+            Item item = item("item " + i, "description " + i);
+            itemService.add(owner.getId(), item);
+
+            // Бронирования разных вещей начинаются одновременно: порядок внутри таких групп задаёт id.
+            for (int day = 0; day < 4; day++) {
+                Booking booking = booking(item, START.plusDays(day), START.plusDays(day).plusHours(1));
+                bookingService.add(booking, booker.getId());
+                bookings.add(booking);
+            }
+        }
+    }
+
+    @Test
+    void getByBookerId_whenFollowingCursor_thenAllBookingsInStartIdDescOrder() throws Exception {
+        assertEquals(expectedIds(), pageThrough("/bookings", booker.getId()));
+    }
+
+    @Test
+    void getByOwnerId_whenFollowingCursor_thenAllBookingsInStartIdDescOrder() throws Exception {
+        assertEquals(expectedIds(), pageThrough("/bookings/owner", owner.getId()));
+    }
+
+    @Test
+    void getByBookerId_whenFromAndSize_thenSameOrderAsCursor() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < bookings.size(); from += 4) {
+            ids.addAll(ids(mockMvc.perform(get("/bookings")
+                            .header("X-Sharer-User-Id", booker.getId())
+                            .param("state", "ALL")
+                            .param("from", String.valueOf(from))
+                            .param("size", "4"))
+                    .andExpect(status().isOk())
+                    .andReturn()));
+        }
+
+        assertEquals(expectedIds(), ids);
+    }
+
+    @Test
+    void getByBookerId_whenInvalidCursor_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "ALL")
+                        .param("size", "5")
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getByBookerId_whenLastPageIsShort_thenNoNextCursor() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "FUTURE")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingCursor.NEXT_CURSOR_HEADER));
+    }
+
+    private List<Long> pageThrough(String path, Long userId) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(path)
+                    .header("X-Sharer-User-Id", userId)
+                    .param("state", "ALL")
+                    .param("size", "5");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.addAll(ids(result));
+            cursor = result.getResponse().getHeader(BookingCursor.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode booking : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            ids.add(booking.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private List<Long> expectedIds() {
+        return bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+}
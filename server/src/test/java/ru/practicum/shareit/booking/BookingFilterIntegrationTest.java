@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingFilterIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    User owner;
+
+    User booker;
+
+    List<Item> items = new ArrayList<>();
+
+    List<Booking> bookings = new ArrayList<>();
+
+    /**
+     * Три вещи, у каждой по бронированию на каждый из четырёх дней. Бронирования первой вещи подтверждены,
+     * второй - отклонены, третьей - ждут ответа.
+     */
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        for (int i = 0; i < 3; i++) {
+            Item item = item("item " + i, "description " + i);
+            itemService.add(owner.getId(), item);
+            items.add(item);
+
+            for (int day = 0; day < 4; day++) {
+                Booking booking = booking(item, START.plusDays(day), START.plusDays(day).plusHours(1));
+                bookingService.add(booking, booker.getId());
+                if (i < 2) {
+                    bookingService.approve(booking.getId(), i == 0, owner.getId());
+                }
+                bookings.add(booking);
+            }
+        }
+    }
+
+    @Test
+    void getByOwnerId_whenItemId_thenOnlyBookingsOfThatItem() throws Exception {
+        Long itemId = items.get(1).getId();
+
+        List<Long> ids = ids(mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("state", "ALL")
+                        .param("itemId", String.valueOf(itemId))
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(expectedIds(booking -> booking.getItem().getId().equals(itemId)), ids);
+    }
+
+    @Test
+    void getByBookerId_whenSeveralStatuses_thenBookingsWithAnyOfThem() throws Exception {
+        List<Long> ids = ids(mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "ALL")
+                        .param("statuses", "APPROVED", "REJECTED")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(expectedIds(booking -> !booking.getItem().getId().equals(items.get(2).getId())), ids);
+    }
+
+    @Test
+    void getByBookerId_whenRange_thenBookingsOverlappingIt() throws Exception {
+        LocalDateTime rangeStart = START.plusDays(1).plusMinutes(30);
+        LocalDateTime rangeEnd = START.plusDays(2);
+
+        List<Long> ids = ids(mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "ALL")
+                        .param("rangeStart", rangeStart.toString())
+                        .param("rangeEnd", rangeEnd.toString())
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(expectedIds(booking -> !booking.getEnd().isBefore(rangeStart)
+                && !booking.getStart().isAfter(rangeEnd)), ids);
+    }
+
+    @Test
+    void getByOwnerId_whenAllFiltersAndCursor_thenPagesOfMatchingBookings() throws Exception {
+        Long itemId = items.get(0).getId();
+        LocalDateTime rangeStart = START.plusDays(1);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/bookings/owner")
+                    .header("X-Sharer-User-Id", owner.getId())
+                    .param("state", "FUTURE")
+                    .param("itemId", String.valueOf(itemId))
+                    .param("statuses", "APPROVED,WAITING")
+                    .param("rangeStart", rangeStart.toString())
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.addAll(ids(result));
+            cursor = result.getResponse().getHeader(BookingCursor.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(expectedIds(booking -> booking.getItem().getId().equals(itemId)
+                && !booking.getEnd().isBefore(rangeStart)), ids);
+    }
+
+    @Test
+    void getByBookerId_whenRangeStartAfterRangeEnd_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "ALL")
+                        .param("rangeStart", START.plusDays(2).toString())
+                        .param("rangeEnd", START.toString())
+                        .param("size", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode booking : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            ids.add(booking.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private List<Long> expectedIds(Predicate<Booking> filter) {
+        return bookings.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingFromRequest;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingHoldIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    User owner;
+
+    User booker;
+
+    User other;
+
+    Item item;
+
+    LocalDateTime base;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        other = userRepository.save(user("other"));
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void hold_whenPeriodHeld_thenOtherUsersCannotHoldOrBookIt() throws Exception {
+        hold(booker, 0, 2, null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(item.getId()))
+                .andExpect(jsonPath("$.holderId").value(booker.getId()));
+
+        hold(other, 1, 3, null).andExpect(status().isBadRequest());
+        book(other, 1, 3).andExpect(status().isBadRequest());
+        book(other, 2, 3).andExpect(status().isOk());
+    }
+
+    @Test
+    void confirm_whenOwnHold_thenBookingCreatedAndHoldRemoved() throws Exception {
+        Long holdId = id(hold(booker, 0, 2, null).andExpect(status().isOk()));
+
+        mockMvc.perform(post("/items/{itemId}/holds/{holdId}/confirm", item.getId(), holdId)
+                        .header("X-Sharer-User-Id", other.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/items/{itemId}/holds/{holdId}/confirm", item.getId(), holdId)
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.booker.id").value(booker.getId()))
+                .andExpect(jsonPath("$.start").value(base.toString() + ":00"));
+
+        mockMvc.perform(post("/items/{itemId}/holds/{holdId}/confirm", item.getId(), holdId)
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isNotFound());
+        hold(other, 0, 2, null).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void release_whenOwnHold_thenPeriodFree() throws Exception {
+        Long holdId = id(hold(booker, 0, 2, null).andExpect(status().isOk()));
+
+        mockMvc.perform(delete("/items/{itemId}/holds/{holdId}", item.getId(), holdId)
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk());
+
+        hold(other, 0, 2, null).andExpect(status().isOk());
+    }
+
+    @Test
+    void hold_whenTtlPassed_thenPeriodFree() throws Exception {
+        hold(booker, 0, 2, 1).andExpect(status().isOk());
+
+        Thread.sleep(1100);
+
+        book(other, 0, 2).andExpect(status().isOk());
+    }
+
+    @Test
+    void hold_whenInvalidRequest_thenError() throws Exception {
+        hold(booker, 2, 1, null).andExpect(status().isBadRequest());
+        hold(booker, 0, 2, 0).andExpect(status().isBadRequest());
+        hold(booker, 0, 2, 3600).andExpect(status().isBadRequest());
+        hold(owner, 0, 2, null).andExpect(status().isNotFound());
+        book(booker, 0, 2).andExpect(status().isOk());
+        hold(other, 1, 3, null).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions hold(User user, int startHours, int endHours, Integer ttlSeconds) throws Exception {
+        BookingHoldFromRequest request = BookingHoldFromRequest.builder()
+                .start(base.plusHours(startHours))
+                .end(base.plusHours(endHours))
+                .ttlSeconds(ttlSeconds)
+                .build();
+        return mockMvc.perform(post("/items/{itemId}/holds", item.getId())
+                .header("X-Sharer-User-Id", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private ResultActions book(User user, int startHours, int endHours) throws Exception {
+        BookingFromRequest request = BookingFromRequest.builder()
+                .itemId(item.getId())
+                .start(base.plusHours(startHours))
+                .end(base.plusHours(endHours))
+                .build();
+        return mockMvc.perform(post("/bookings")
+                .header("X-Sharer-User-Id", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private Long id(ResultActions result) throws Exception {
+        JsonNode hold = objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+        assertEquals(item.getId(), hold.get("itemId").asLong());
+        return hold.get("id").asLong();
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+/**
+ * item.lastBooking и item.nextBooking в ответах /bookings берутся из сводки бронирований вещи.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingResponseIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    Long past;
+
+    Long future;
+
+    Long waiting;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+
+        LocalDateTime now = LocalDateTime.now();
+        past = book(now.minusDays(3), now.minusDays(2));
+        future = book(now.plusDays(1), now.plusDays(2));
+        waiting = book(now.plusDays(3), now.plusDays(4));
+        bookingService.approve(past, true, owner.getId());
+        bookingService.approve(future, true, owner.getId());
+    }
+
+    @Test
+    void getByBookingId_thenItemHasLastAndNextBooking() throws Exception {
+        expectLastAndNext(mockMvc.perform(get("/bookings/{bookingId}", waiting)
+                .header("X-Sharer-User-Id", booker.getId())), "$.item");
+    }
+
+    @Test
+    void approve_thenItemHasLastAndNextBooking() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Long later = book(now.plusDays(5), now.plusDays(6));
+
+        expectLastAndNext(mockMvc.perform(patch("/bookings/{bookingId}", later)
+                .param("approved", "true")
+                .header("X-Sharer-User-Id", owner.getId())), "$.item");
+    }
+
+    @Test
+    void getByBookerIdAndOwnerId_thenEveryItemHasLastAndNextBooking() throws Exception {
+        expectLastAndNextOnEveryItem(mockMvc.perform(get("/bookings")
+                .param("state", "ALL")
+                .param("size", "10")
+                .header("X-Sharer-User-Id", booker.getId())));
+        expectLastAndNextOnEveryItem(mockMvc.perform(get("/bookings/owner")
+                .param("state", "ALL")
+                .param("from", "1")
+                .param("size", "10")
+                .header("X-Sharer-User-Id", owner.getId())));
+    }
+
+    @Test
+    void getByBookerId_whenSummaryRowMissing_thenCalculated() throws Exception {
+        itemBookingSummaryRepository.deleteById(item.getId());
+
+        expectLastAndNextOnEveryItem(mockMvc.perform(get("/bookings")
+                .param("state", "ALL")
+                .param("size", "10")
+                .header("X-Sharer-User-Id", booker.getId())));
+    }
+
+    private void expectLastAndNext(ResultActions result, String item) throws Exception {
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath(item + ".lastBooking.id", is(past.intValue())))
+                .andExpect(jsonPath(item + ".lastBooking.bookerId", is(booker.getId().intValue())))
+                .andExpect(jsonPath(item + ".nextBooking.id", is(future.intValue())))
+                .andExpect(jsonPath(item + ".nextBooking.bookerId", is(booker.getId().intValue())));
+    }
+
+    private void expectLastAndNextOnEveryItem(ResultActions result) throws Exception {
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].item.lastBooking.id", everyItem(is(past.intValue()))))
+                .andExpect(jsonPath("$[*].item.nextBooking.id", everyItem(is(future.intValue()))));
+    }
+
+    private Long book(LocalDateTime start, LocalDateTime end) {
+        Booking booking = booking(item, start, end);
+        return bookingService.add(booking, booker.getId()).getId();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingSummaryIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    /**
+     * Прошедшее, текущее и два будущих бронирования; одно будущее подтверждено, прошедшее отклонено.
+     */
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long past = book(now.minusDays(3), now.minusDays(2));
+        book(now.minusHours(1), now.plusHours(1));
+        Long future = book(now.plusDays(1), now.plusDays(2));
+        book(now.plusDays(3), now.plusDays(4));
+
+        bookingService.approve(future, true, owner.getId());
+        bookingService.approve(past, false, owner.getId());
+    }
+
+    @Test
+    void getSummary_whenBookerOrOwner_thenCountsForEveryState() throws Exception {
+        Map<String, Long> expected = Map.of("ALL", 4L, "CURRENT", 1L, "PAST", 1L, "FUTURE", 2L,
+                "WAITING", 2L, "APPROVED", 1L, "REJECTED", 1L);
+
+        assertEquals(expected, summary("/bookings/summary", booker.getId()));
+        assertEquals(expected, summary("/bookings/owner/summary", owner.getId()));
+    }
+
+    @Test
+    void getSummary_whenOtherRole_thenNoBookings() throws Exception {
+        Map<String, Long> empty = Map.of("ALL", 0L, "CURRENT", 0L, "PAST", 0L, "FUTURE", 0L,
+                "WAITING", 0L, "APPROVED", 0L, "REJECTED", 0L);
+
+        assertEquals(empty, summary("/bookings/owner/summary", booker.getId()));
+        assertEquals(empty, summary("/bookings/summary", owner.getId()));
+    }
+
+    @Test
+    void getSummary_whenRepeated_thenOneQueryAndThenCached() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        summary("/bookings/owner/summary", owner.getId());
+        // Проверка пользователя и сводка.
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        summary("/bookings/owner/summary", owner.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getSummary_whenNewBooking_thenCacheInvalidated() throws Exception {
+        assertEquals(4L, summary("/bookings/summary", booker.getId()).get("ALL"));
+        assertEquals(4L, summary("/bookings/owner/summary", owner.getId()).get("ALL"));
+
+        LocalDateTime now = LocalDateTime.now();
+        book(now.plusDays(5), now.plusDays(6));
+
+        assertEquals(5L, summary("/bookings/summary", booker.getId()).get("ALL"));
+        assertEquals(5L, summary("/bookings/owner/summary", owner.getId()).get("ALL"));
+    }
+
+    @Test
+    void getSummary_whenUnknownUser_thenNotFound() throws Exception {
+        mockMvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 999))
+                .andExpect(status().isNotFound());
+    }
+
+    private Map<String, Long> summary(String path, Long userId) throws Exception {
+        JsonNode summary = objectMapper.readTree(mockMvc.perform(get(path)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        return objectMapper.convertValue(summary, objectMapper.getTypeFactory()
+                .constructMapType(Map.class, String.class, Long.class));
+    }
+
+    private Long book(LocalDateTime start, LocalDateTime end) {
+        Booking booking = booking(item, start, end);
+        return bookingService.add(booking, booker.getId()).getId();
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+/**
+ * WRITERS потоков одновременно бронируют и подтверждают пересекающиеся периоды одной вещи.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyStressTest {
+
+    private static final int WRITERS = 64;
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+
+    User owner;
+
+    List<User> bookers;
+
+    Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        bookers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            bookers.add(userRepository.save(user("booker" + i)));
+        }
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+    }
+
+    @Test
+    void add_whenWritersBookSamePeriod_thenExactlyOneBooking() throws Exception {
+        int succeeded = race(i -> () -> bookingService.add(
+                booking(item.getId(), START, START.plusDays(2)), bookers.get(i).getId()));
+
+        assertEquals(1, succeeded);
+        assertEquals(1, bookingsOfItem().size());
+    }
+
+    @Test
+    void add_whenWritersBookShiftedPeriods_thenNoOverlaps() throws Exception {
+        int succeeded = race(i -> () -> bookingService.add(
+                booking(item.getId(), START.plusHours(i), START.plusHours(i + 3)), bookers.get(i).getId()));
+
+        List<Booking> bookings = bookingsOfItem();
+        assertEquals(succeeded, bookings.size());
+        assertTrue(succeeded > 1);
+        assertNoOverlaps(bookings);
+    }
+
+    @Test
+    void approve_whenOverlappingWaitingBookingsApprovedConcurrently_thenExactlyOneApproved() throws Exception {
+        // Пересекающиеся WAITING-бронирования, как от узла без блокировок: сервис такие уже не создаст.
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Booking booking = booking(itemRepository.findById(item.getId()).orElseThrow(),
+                    START.plusHours(i % 4), START.plusDays(1));
+            booking.setBooker(bookers.get(i));
+            booking.setStatus(BookingStatus.WAITING);
+            bookingIds.add(bookingRepository.save(booking).getId());
+        }
+        bookingIntervalIndex.warmUp();
+
+        int succeeded = race(i -> () -> bookingService.approve(bookingIds.get(i), true, owner.getId()));
+
+        assertEquals(1, succeeded);
+        assertEquals(1, bookingsOfItem().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+    }
+
+    @Test
+    void approve_whenSameApprovalSubmittedConcurrently_thenAppliedOnce() throws Exception {
+        Long bookingId = bookingService.add(booking(item.getId(), START, START.plusDays(1)), bookers.get(0).getId())
+                .getId();
+
+        int succeeded = race(i -> () -> bookingService.approve(bookingId, i % 2 == 0, owner.getId()));
+
+        assertEquals(1, succeeded);
+        assertNotEquals(BookingStatus.WAITING, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+    }
+
+    /**
+     * Запускает WRITERS задач одновременно.
+     *
+     * @return сколько задач завершилось без BookingException
+     */
+    private int race(IntFunction<Callable<?>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                Callable<?> call = task.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        call.call();
+                        return true;
+                    } catch (BookingException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Booking> bookingsOfItem() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private static void assertNoOverlaps(List<Booking> bookings) {
+        List<Booking> byStart = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+        for (int i = 1; i < byStart.size(); i++) {
+            assertFalse(byStart.get(i).getStart().isBefore(byStart.get(i - 1).getEnd()),
+                    byStart.get(i - 1).getId() + " и " + byStart.get(i).getId() + " пересекаются");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+/**
+ * Бронирующих одну вещь потоков больше, чем соединений в пуле: ожидание блокировки вещи не занимает
+ * соединение, поэтому никто не ждёт соединение дольше connection-timeout.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-pool",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250"
+})
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConnectionPoolTest {
+
+    private static final int BOOKERS = 32;
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    List<User> bookers;
+
+    Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepository.save(user("owner"));
+        bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(user("booker" + i)));
+        }
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+    }
+
+    @Test
+    void add_whenBookersExceedPoolSize_thenAllBooked() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                int booker = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.add(booking(item.getId(), START.plusDays(booker), START.plusDays(booker + 1)),
+                            bookers.get(booker).getId());
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(BOOKERS, bookingRepository.count());
+    }
+}
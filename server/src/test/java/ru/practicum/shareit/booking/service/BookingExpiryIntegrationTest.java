@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = {
+        "shareit.booking.expiry.chunk-size=3",
+        "shareit.booking.expiry.delay=1h"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingExpiryIntegrationTest {
+
+    /**
+     * Насколько часов назад начались зависшие бронирования; два одинаковых начала попадают на границу порций.
+     */
+    private static final int[] STALE_HOURS_AGO = {6, 5, 4, 4, 3, 2, 1};
+
+    private static final int STALE = STALE_HOURS_AGO.length;
+
+    private final BookingExpiryJob bookingExpiryJob;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    LocalDateTime now;
+
+    List<Long> stale;
+
+    Long approved;
+
+    Long future;
+
+    /**
+     * STALE бронирований в WAITING, начавшихся в прошлом, подтверждённое
+     * прошедшее и ожидающее будущее. Бронирования пишутся в базу напрямую: сервис не создаёт
+     * пересекающиеся бронирования одной вещи.
+     */
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+
+        now = LocalDateTime.now();
+        stale = new ArrayList<>();
+        for (int hoursAgo : STALE_HOURS_AGO) {
+            stale.add(save(now.minusHours(hoursAgo), now.plusHours(1), BookingStatus.WAITING));
+        }
+        approved = save(now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+        future = save(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        bookingIntervalIndex.warmUp();
+    }
+
+    @Test
+    void run_whenWaitingBookingsStarted_thenRejectedInChunks() {
+        bookingExpiryJob.run();
+
+        for (Long id : stale) {
+            assertEquals(BookingStatus.REJECTED, status(id), "booking " + id);
+        }
+        assertEquals(BookingStatus.APPROVED, status(approved));
+        assertEquals(BookingStatus.WAITING, status(future));
+
+        assertEquals(STALE, meterRegistry.get("shareit.booking.expiry.expired").counter().count());
+        // 3 + 3 + 1: последняя неполная порция завершает обход.
+        assertEquals(3, meterRegistry.get("shareit.booking.expiry.chunk").timer().count());
+        assertEquals(0.0, meterRegistry.get("shareit.booking.expiry.lag").gauge().value());
+    }
+
+    @Test
+    void run_whenBookingExpired_thenPeriodFreeAndApprovalRejected() {
+        bookingExpiryJob.run();
+
+        assertThrows(BookingException.class, () -> bookingService.approve(stale.get(0), true, owner.getId()));
+
+        Booking booking = booking(item.getId(), now.plusMinutes(1), now.plusHours(1));
+        assertEquals(BookingStatus.WAITING, bookingService.add(booking, booker.getId()).getStatus());
+    }
+
+    @Test
+    void run_whenRepeated_thenNothingLeft() {
+        bookingExpiryJob.run();
+        bookingExpiryJob.run();
+
+        assertEquals(STALE, meterRegistry.get("shareit.booking.expiry.expired").counter().count());
+    }
+
+    private BookingStatus status(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getStatus();
+    }
+
+    private Long save(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = booking(itemRepository.findById(item.getId()).orElseThrow(), start, end);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking).getId();
+    }
+}
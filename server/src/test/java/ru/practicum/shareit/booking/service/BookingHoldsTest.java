@@ -0,0 +1,222 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.BookingHold;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingHoldsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 12, 0);
+
+    MutableClock clock;
+
+    SimpleMeterRegistry meterRegistry;
+
+    BookingHolds bookingHolds;
+
+    @BeforeEach
+    void beforeEach() {
+        BookingHoldProperties properties = new BookingHoldProperties();
+        properties.setTick(Duration.ofSeconds(1));
+        properties.setWheelSize(8);
+        properties.setMaxPerHolder(2);
+        clock = new MutableClock(Instant.parse("2100-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        bookingHolds = new BookingHolds(properties, meterRegistry, clock);
+    }
+
+    @Test
+    void tryHold_whenOtherUserHoldsOverlappingPeriod_thenEmpty() {
+        assertTrue(hold(1L, 0, 2, 60).isPresent());
+
+        assertTrue(hold(2L, 1, 3, 60).isEmpty());
+        assertTrue(hold(2L, 2, 4, 60).isPresent());
+        assertTrue(hold(1L, 1, 2, 60).isPresent());
+    }
+
+    @Test
+    void findConflicting_whenOwnHold_thenNoConflict() {
+        hold(1L, 0, 2, 60);
+
+        assertTrue(bookingHolds.findConflicting(10L, BASE, BASE.plusHours(1), 1L).isEmpty());
+        assertTrue(bookingHolds.findConflicting(10L, BASE, BASE.plusHours(1), 2L).isPresent());
+        assertTrue(bookingHolds.findConflicting(11L, BASE, BASE.plusHours(1), 2L).isEmpty());
+    }
+
+    @Test
+    void expire_whenTtlPassed_thenHoldRemoved() {
+        BookingHold hold = hold(1L, 0, 2, 3).orElseThrow();
+
+        clock.advance(Duration.ofSeconds(2));
+        bookingHolds.expire();
+        assertEquals(Optional.of(hold), bookingHolds.get(hold.getId()));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(bookingHolds.get(hold.getId()).isEmpty());
+        assertTrue(bookingHolds.findConflicting(10L, BASE, BASE.plusHours(1), 2L).isEmpty());
+        assertEquals(1.0, meterRegistry.get("shareit.booking.holds").gauge().value());
+
+        bookingHolds.expire();
+        assertEquals(0.0, meterRegistry.get("shareit.booking.holds").gauge().value());
+        assertTrue(hold(2L, 0, 2, 60).isPresent());
+    }
+
+    @Test
+    void expire_whenTtlLongerThanWheelRevolution_thenHoldKeptUntilDeadline() {
+        BookingHold hold = hold(1L, 0, 2, 20).orElseThrow();
+
+        for (int second = 1; second < 20; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            bookingHolds.expire();
+            assertTrue(bookingHolds.get(hold.getId()).isPresent(), "second " + second);
+        }
+        clock.advance(Duration.ofSeconds(1));
+        bookingHolds.expire();
+        assertEquals(0.0, meterRegistry.get("shareit.booking.holds").gauge().value());
+    }
+
+    @Test
+    void expire_afterLongPause_thenAllDueHoldsRemoved() {
+        hold(1L, 0, 2, 5);
+        hold(2L, 2, 4, 30);
+        hold(3L, 4, 6, 300);
+
+        clock.advance(Duration.ofSeconds(100));
+        bookingHolds.expire();
+
+        assertEquals(1.0, meterRegistry.get("shareit.booking.holds").gauge().value());
+    }
+
+    @Test
+    void remove_whenHoldReleased_thenPeriodFree() {
+        BookingHold hold = hold(1L, 0, 2, 60).orElseThrow();
+
+        bookingHolds.remove(hold);
+
+        assertTrue(bookingHolds.get(hold.getId()).isEmpty());
+        assertTrue(hold(2L, 0, 2, 60).isPresent());
+    }
+
+    @Test
+    void tryHold_whenHolderAtLimit_thenRejectedUntilHoldReleasedOrExpired() {
+        BookingHold first = hold(1L, 0, 2, 60).orElseThrow();
+        assertTrue(bookingHolds.tryHold(11L, 1L, BASE, BASE.plusHours(2), Duration.ofSeconds(3)).isPresent());
+
+        assertThrows(BookingException.class, () -> hold(1L, 4, 6, 60));
+        assertTrue(hold(2L, 4, 6, 60).isPresent());
+
+        bookingHolds.remove(first);
+        assertTrue(hold(1L, 8, 10, 60).isPresent());
+        assertThrows(BookingException.class, () -> hold(1L, 12, 14, 60));
+
+        clock.advance(Duration.ofSeconds(3));
+        bookingHolds.expire();
+        assertTrue(hold(1L, 12, 14, 60).isPresent());
+    }
+
+    @Test
+    void tryHold_whenConflict_thenSlotNotCountedAgainstLimit() {
+        hold(2L, 0, 2, 60);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertTrue(hold(1L, 1, 3, 60).isEmpty());
+        }
+        assertTrue(hold(1L, 4, 6, 60).isPresent());
+        assertTrue(hold(1L, 6, 8, 60).isPresent());
+    }
+
+    @Test
+    void getActiveAndFindItemIdsHeldBetween_skipExpiredHolds() {
+        BookingHold kept = hold(1L, 0, 2, 60).orElseThrow();
+        bookingHolds.tryHold(11L, 2L, BASE.plusHours(4), BASE.plusHours(6), Duration.ofSeconds(3));
+
+        assertEquals(Set.of(10L, 11L), bookingHolds.findItemIdsHeldBetween(BASE, BASE.plusHours(8)));
+        assertEquals(Set.of(10L), bookingHolds.findItemIdsHeldBetween(BASE, BASE.plusHours(4)));
+
+        clock.advance(Duration.ofSeconds(3));
+        assertEquals(List.of(kept), bookingHolds.getActive(10L));
+        assertEquals(List.of(), bookingHolds.getActive(11L));
+        assertEquals(Set.of(10L), bookingHolds.findItemIdsHeldBetween(BASE, BASE.plusHours(8)));
+    }
+
+    @Test
+    void tryHold_whenUsersRaceForSamePeriod_thenExactlyOneWins() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<BookingHold>>> results = new ArrayList<>();
+            for (long user = 1; user <= threads; user++) {
+                long holderId = user;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return hold(holderId, 0, 2, 60);
+                }));
+            }
+            start.countDown();
+
+            int held = 0;
+            for (Future<Optional<BookingHold>> result : results) {
+                if (result.get(10, TimeUnit.SECONDS).isPresent()) {
+                    held++;
+                }
+            }
+            assertEquals(1, held);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Optional<BookingHold> hold(Long holderId, int startHours, int endHours, int ttlSeconds) {
+        return bookingHolds.tryHold(10L, holderId, BASE.plusHours(startHours), BASE.plusHours(endHours),
+                Duration.ofSeconds(ttlSeconds));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
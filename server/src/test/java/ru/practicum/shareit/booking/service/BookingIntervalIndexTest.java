@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 12, 0);
+
+    @InjectMocks
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    BookingInterval shortBooking;
+
+    BookingInterval longBooking;
+
+    @BeforeEach
+    void beforeEach() {
+        shortBooking = new BookingInterval(1L, 10L, BookingStatus.WAITING, BASE, BASE.plusHours(2));
+        longBooking = new BookingInterval(2L, 10L, BookingStatus.APPROVED, BASE.minusDays(30), BASE.minusDays(1));
+
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(anyCollection(), any()))
+                .thenReturn(List.of(shortBooking, longBooking));
+        bookingIntervalIndex.warmUp();
+    }
+
+    @Test
+    void findOverlapping_intersectingInterval() {
+        assertEquals(shortBooking.getId(), bookingIntervalIndex
+                .findOverlapping(10L, BASE.plusHours(1), BASE.plusHours(3)).orElseThrow().getId());
+    }
+
+    @Test
+    void findOverlapping_longIntervalStartedEarlier() {
+        assertEquals(longBooking.getId(), bookingIntervalIndex
+                .findOverlapping(10L, BASE.minusDays(2), BASE.minusDays(2).plusHours(1)).orElseThrow().getId());
+    }
+
+    @Test
+    void findOverlapping_adjacentIntervalsDoNotOverlap() {
+        assertTrue(bookingIntervalIndex.findOverlapping(10L, BASE.plusHours(2), BASE.plusHours(4)).isEmpty());
+        assertTrue(bookingIntervalIndex.findOverlapping(10L, BASE.minusDays(1), BASE).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_otherItem() {
+        assertTrue(bookingIntervalIndex.findOverlapping(11L, BASE, BASE.plusHours(2)).isEmpty());
+    }
+
+    @Test
+    void put_rejectedBookingIsRemoved() {
+        bookingIntervalIndex.put(new BookingInterval(1L, 10L, BookingStatus.REJECTED,
+                shortBooking.getStart(), shortBooking.getEnd()));
+
+        assertTrue(bookingIntervalIndex.findOverlapping(10L, BASE, BASE.plusHours(2)).isEmpty());
+    }
+
+    @Test
+    void put_newBookingIsFound() {
+        BookingInterval newBooking = new BookingInterval(3L, 20L, BookingStatus.WAITING,
+                BASE.plusDays(1), BASE.plusDays(2));
+
+        bookingIntervalIndex.put(newBooking);
+
+        assertEquals(newBooking.getId(), bookingIntervalIndex
+                .findOverlapping(20L, BASE, BASE.plusDays(3)).orElseThrow().getId());
+    }
+
+    @Test
+    void findOverlapping_shortBookingsAfterLongOne() {
+        BookingInterval yearLong = new BookingInterval(3L, 30L, BookingStatus.APPROVED,
+                BASE.minusYears(1), BASE.minusDays(200));
+        bookingIntervalIndex.put(yearLong);
+        for (long day = 0; day < 100; day++) {
+            bookingIntervalIndex.put(new BookingInterval(100 + day, 30L, BookingStatus.WAITING,
+                    BASE.plusDays(day), BASE.plusDays(day).plusHours(1)));
+        }
+
+        assertEquals(150L, bookingIntervalIndex.findOverlapping(30L, BASE.plusDays(50).minusMinutes(30),
+                BASE.plusDays(50).plusMinutes(30)).orElseThrow().getId());
+        assertEquals(yearLong.getId(), bookingIntervalIndex.findOverlapping(30L, BASE.minusDays(250),
+                BASE.minusDays(249)).orElseThrow().getId());
+        assertTrue(bookingIntervalIndex.findOverlapping(30L, BASE.minusDays(100), BASE).isEmpty());
+    }
+
+    @Test
+    void evictEnded_removesEndedIntervalsAndEmptyItems() {
+        bookingIntervalIndex.put(new BookingInterval(3L, 20L, BookingStatus.WAITING,
+                BASE.plusDays(1), BASE.plusDays(2)));
+
+        assertEquals(1, bookingIntervalIndex.evictEnded(BASE.minusHours(12)));
+        assertEquals(2, bookingIntervalIndex.size());
+        assertTrue(bookingIntervalIndex.findOverlapping(10L, BASE.minusDays(2), BASE.minusDays(1)).isEmpty());
+        assertEquals(shortBooking.getId(), bookingIntervalIndex
+                .findOverlapping(10L, BASE, BASE.plusHours(1)).orElseThrow().getId());
+
+        assertEquals(2, bookingIntervalIndex.evictEnded(BASE.plusDays(2)));
+        assertEquals(0, bookingIntervalIndex.size());
+    }
+
+    @Test
+    void warmUp_loadsOnlyIntervalsThatHaveNotEnded() {
+        LocalDateTime before = LocalDateTime.now();
+        bookingIntervalIndex.warmUp();
+
+        ArgumentCaptor<LocalDateTime> time = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository, times(2)).findIntervalsByStatusInAndEndAfter(anyCollection(), time.capture());
+        assertFalse(time.getValue().isBefore(before));
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Test
+    void findFirstOverlapping_sameAsLinearScan() {
+        Random random = new Random(7);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<BookingInterval> intervals = new ArrayList<>();
+
+        for (long id = 1; id <= 2_000; id++) {
+            BookingInterval interval = interval(id, random.nextInt(10_000), random.nextInt(100) < 2
+                    ? 1 + random.nextInt(5_000) : 1 + random.nextInt(20));
+            tree.add(interval);
+            intervals.add(interval);
+
+            if (random.nextInt(4) == 0) {
+                BookingInterval removed = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(removed));
+                assertFalse(tree.remove(removed));
+            }
+            assertEquals(intervals.size(), tree.size());
+
+            int start = random.nextInt(10_100);
+            LocalDateTime from = BASE.plusHours(start);
+            LocalDateTime to = from.plusHours(1 + random.nextInt(30));
+            Predicate<BookingInterval> filter = random.nextBoolean()
+                    ? candidate -> true
+                    : candidate -> candidate.getId() % 3 == 0;
+            assertEquals(linearScan(intervals, from, to, filter), tree.findFirstOverlapping(from, to, filter));
+        }
+    }
+
+    @Test
+    void findFirstOverlapping_adjacentIntervalsDoNotOverlap() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1, 10, 5));
+
+        assertTrue(tree.findFirstOverlapping(BASE.plusHours(5), BASE.plusHours(10), candidate -> true).isEmpty());
+        assertTrue(tree.findFirstOverlapping(BASE.plusHours(15), BASE.plusHours(20), candidate -> true).isEmpty());
+        assertEquals(1L, tree.findFirstOverlapping(BASE.plusHours(14), BASE.plusHours(20), candidate -> true)
+                .orElseThrow().getId());
+    }
+
+    private static Optional<BookingInterval> linearScan(List<BookingInterval> intervals, LocalDateTime start,
+                                                        LocalDateTime end, Predicate<BookingInterval> filter) {
+        return intervals.stream()
+                .filter(candidate -> candidate.overlaps(start, end) && filter.test(candidate))
+                .min(Comparator.comparing(BookingInterval::getStart).thenComparing(BookingInterval::getId));
+    }
+
+    private static BookingInterval interval(long id, int startHour, int hours) {
+        return new BookingInterval(id, 1L, BookingStatus.WAITING, BASE.plusHours(startHour),
+                BASE.plusHours(startHour + hours));
+    }
+}
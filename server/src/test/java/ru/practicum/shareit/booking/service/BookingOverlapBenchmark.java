@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение проверки пересечения бронирований через {@link BookingIntervalIndex} и SQL-запрос
+ * к H2 на 1 000 000 бронирований. Запуск: main() из IDE после mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingOverlapBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int BOOKINGS_PER_ITEM = 100;
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    private static final String OVERLAP_QUERY = "SELECT id FROM bookings " +
+            "WHERE item_id = ? AND status IN ('WAITING', 'APPROVED') AND start_time < ? AND end_time > ? LIMIT 1";
+
+    private Connection connection;
+    private PreparedStatement overlapStatement;
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:overlap_benchmark", "test", "test");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, item_id BIGINT NOT NULL, " +
+                    "status VARCHAR(20) NOT NULL, start_time TIMESTAMP NOT NULL, end_time TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_time)");
+        }
+
+        List<BookingInterval> intervals = new ArrayList<>(ITEMS * BOOKINGS_PER_ITEM);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bookings VALUES (?, ?, ?, ?, ?)")) {
+            long id = 0;
+            for (long itemId = 1; itemId <= ITEMS; itemId++) {
+                for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                    BookingInterval interval = new BookingInterval(++id, itemId, BookingStatus.APPROVED,
+                            BASE.plusDays(2L * i), BASE.plusDays(2L * i + 1));
+                    intervals.add(interval);
+
+                    insert.setLong(1, interval.getId());
+                    insert.setLong(2, interval.getItemId());
+                    insert.setString(3, interval.getStatus().name());
+                    insert.setTimestamp(4, Timestamp.valueOf(interval.getStart()));
+                    insert.setTimestamp(5, Timestamp.valueOf(interval.getEnd()));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        overlapStatement = connection.prepareStatement(OVERLAP_QUERY);
+
+        bookingIntervalIndex = new BookingIntervalIndex(null);
+        bookingIntervalIndex.load(intervals);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        overlapStatement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        LocalDateTime start = randomStart();
+        return bookingIntervalIndex.findOverlapping(randomItemId(), start, start.plusHours(12)).isPresent();
+    }
+
+    @Benchmark
+    public boolean sqlOverlapQuery() throws SQLException {
+        LocalDateTime start = randomStart();
+        overlapStatement.setLong(1, randomItemId());
+        overlapStatement.setTimestamp(2, Timestamp.valueOf(start.plusHours(12)));
+        overlapStatement.setTimestamp(3, Timestamp.valueOf(start));
+        try (ResultSet resultSet = overlapStatement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    private static long randomItemId() {
+        return ThreadLocalRandom.current().nextLong(1, ITEMS + 1);
+    }
+
+    private static LocalDateTime randomStart() {
+        return BASE.plusHours(ThreadLocalRandom.current().nextInt(BOOKINGS_PER_ITEM * 48));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingOverlapBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.exception.BookingException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingOverlapIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("Joe"));
+        booker = userRepository.save(user("Bob"));
+
+        item = item("item name", "item description");
+        itemService.add(owner.getId(), item);
+    }
+
+    @Test
+    void add_overlappingWaitingBooking() {
+        bookingService.add(booking(item, START, START.plusDays(2)), booker.getId());
+
+        assertThrows(BookingException.class,
+                () -> bookingService.add(booking(item, START.plusDays(1), START.plusDays(3)), booker.getId()));
+    }
+
+    @Test
+    void add_overlappingApprovedBooking() {
+        Booking approved = booking(item, START, START.plusDays(2));
+        bookingService.add(approved, booker.getId());
+        bookingService.approve(approved.getId(), true, owner.getId());
+
+        assertThrows(BookingException.class,
+                () -> bookingService.add(booking(item, START.minusDays(1), START.plusDays(1)), booker.getId()));
+    }
+
+    @Test
+    void add_afterRejectedBooking() {
+        Booking rejected = booking(item, START, START.plusDays(2));
+        bookingService.add(rejected, booker.getId());
+        bookingService.approve(rejected.getId(), false, owner.getId());
+
+        assertNotNull(bookingService.add(booking(item, START, START.plusDays(2)), booker.getId()).getId());
+    }
+
+    @Test
+    void add_adjacentBookings() {
+        bookingService.add(booking(item, START, START.plusDays(2)), booker.getId());
+
+        assertNotNull(bookingService.add(booking(item, START.plusDays(2), START.plusDays(3)), booker.getId()).getId());
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.StateFilter;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingServiceStatementCountTest {
+
+    private static final int ITEMS = 12;
+
+    private static final LocalDateTime START = LocalDateTime.of(2160, 3, 10, 15, 0);
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    User booker;
+
+    Statistics statistics;
+
+    @BeforeAll
+    void beforeAll() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = item("item " + i, "description " + i);
+            itemService.add(owner.getId(), item);
+
+            Comment comment = new Comment();
+            comment.setText("comment " + i);
+            comment.setItem(item);
+            comment.setAuthor(userRepository.save(user("author" + i)));
+            comment.setCreated(LocalDateTime.now());
+            commentRepository.save(comment);
+
+            Booking booking = booking(item, START.plusDays(i), START.plusDays(i).plusHours(1));
+            bookingService.add(booking, booker.getId());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StateFilter.class, names = {"ALL", "FUTURE", "WAITING"})
+    void getByBookerId_statementCountDoesNotDependOnPageSize(StateFilter state) {
+        assertStatementCount(size -> List.copyOf(
+                bookingService.getByBookerId(BookingFilter.of(state), booker.getId(), 0, size)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StateFilter.class, names = {"ALL", "FUTURE", "WAITING"})
+    void getByOwnerId_statementCountDoesNotDependOnPageSize(StateFilter state) {
+        assertStatementCount(size -> List.copyOf(
+                bookingService.getByOwnerId(BookingFilter.of(state), owner.getId(), 0, size)));
+    }
+
+    @Test
+    void getByBookerIdWithCursor_statementCountDoesNotDependOnPageSize() {
+        assertStatementCount(size -> bookingService.getByBookerId(
+                BookingFilter.of(StateFilter.ALL), booker.getId(), null, size));
+    }
+
+    @Test
+    void getByOwnerIdWithCursor_statementCountDoesNotDependOnPageSize() {
+        assertStatementCount(size -> bookingService.getByOwnerId(
+                BookingFilter.of(StateFilter.ALL), owner.getId(), null, size));
+    }
+
+    /**
+     * Проверка пользователя, страница бронирований одним запросом с join вещи и автора, отзывы о вещах страницы
+     * и сводки их бронирований.
+     */
+    private void assertStatementCount(IntFunction<List<BookingResponse>> getPage) {
+        long smallPageStatements = countStatements(getPage, 2);
+        long largePageStatements = countStatements(getPage, ITEMS);
+
+        assertEquals(4, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    private long countStatements(IntFunction<List<BookingResponse>> getPage, int size) {
+        statistics.clear();
+
+        List<BookingResponse> bookings = getPage.apply(size);
+
+        assertEquals(size, bookings.size());
+        bookings.forEach(booking -> {
+            assertEquals(booker.getEmail(), booking.getBooker().getEmail());
+            assertEquals("description" + booking.getItem().getName().substring("item".length()),
+                    booking.getItem().getDescription());
+            assertEquals(1, booking.getItem().getComments().size());
+        });
+        assertEquals(0, statistics.getEntityStatistics(Booking.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Item.class.getName()).getLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingHoldService;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.TimeSlot;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemAvailabilityIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookingService bookingService;
+    private final BookingHoldService bookingHoldService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    LocalDateTime base;
+
+    /**
+     * Два смежных активных бронирования и одно отклонённое, которое время не занимает.
+     */
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        item = item("item", "description");
+        itemService.add(owner.getId(), item);
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        book(2, 4);
+        Long approved = book(4, 5);
+        Long rejected = book(7, 8);
+
+        bookingService.approve(approved, true, owner.getId());
+        bookingService.approve(rejected, false, owner.getId());
+    }
+
+    @Test
+    void getAvailability_whenActiveBookings_thenGapsBetweenMergedBookings() throws Exception {
+        assertEquals(List.of(slot(0, 2), slot(5, 10)), availability(0, 10));
+    }
+
+    @Test
+    void getAvailability_whenWindowInsideBooking_thenNoSlots() throws Exception {
+        assertEquals(List.of(), availability(3, 5));
+        assertEquals(List.of(slot(5, 6)), availability(3, 6));
+    }
+
+    @Test
+    void getAvailability_whenFromInPast_thenStartsNow() throws Exception {
+        List<TimeSlot> slots = availability(-48, 1);
+
+        assertEquals(1, slots.size());
+        assertEquals(base.plusHours(1), slots.get(0).getEnd());
+        assertTrue(slots.get(0).getStart().isAfter(base.minusDays(1)));
+    }
+
+    @Test
+    void getAvailability_whenRepeated_thenOneQueryAndThenCached() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        availability(0, 10);
+        // Проверка вещи и интервалы бронирований.
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        availability(0, 20);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAvailability_whenNewBooking_thenCacheInvalidated() throws Exception {
+        assertEquals(List.of(slot(0, 2), slot(5, 10)), availability(0, 10));
+
+        book(8, 9);
+
+        assertEquals(List.of(slot(0, 2), slot(5, 8), slot(9, 10)), availability(0, 10));
+    }
+
+    @Test
+    void getAvailability_whenPeriodHeld_thenHoldIsBusy() throws Exception {
+        assertEquals(List.of(slot(0, 2), slot(5, 10)), availability(0, 10));
+
+        bookingHoldService.hold(item.getId(), booker.getId(), BookingHoldFromRequest.builder()
+                .start(base.plusHours(6))
+                .end(base.plusHours(8))
+                .build());
+
+        assertEquals(List.of(slot(0, 2), slot(5, 6), slot(8, 10)), availability(0, 10));
+    }
+
+    @Test
+    void getAvailability_whenFromNotBeforeTo_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", base.plusHours(2).toString())
+                        .param("to", base.plusHours(2).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAvailability_whenUnknownItem_thenNotFound() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/availability", 999))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<TimeSlot> availability(int fromHours, int toHours) throws Exception {
+        JsonNode slots = objectMapper.readTree(mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", base.plusHours(fromHours).toString())
+                        .param("to", base.plusHours(toHours).toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        List<TimeSlot> result = new ArrayList<>();
+        for (JsonNode slot : slots) {
+            result.add(new TimeSlot(LocalDateTime.parse(slot.get("start").asText()),
+                    LocalDateTime.parse(slot.get("end").asText())));
+        }
+        return result;
+    }
+
+    private TimeSlot slot(int startHours, int endHours) {
+        return new TimeSlot(base.plusHours(startHours), base.plusHours(endHours));
+    }
+
+    private Long book(int startHours, int endHours) {
+        Booking booking = booking(item, base.plusHours(startHours), base.plusHours(endHours));
+        return bookingService.add(booking, booker.getId()).getId();
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingHoldFromRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingHoldService;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemSearchFreeBetweenIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookingService bookingService;
+    private final BookingHoldService bookingHoldService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    User owner;
+
+    User booker;
+
+    LocalDateTime base;
+
+    Long free;
+
+    Long waiting;
+
+    Long approved;
+
+    Long rejected;
+
+    Long touching;
+
+    /**
+     * Дрели с бронированиями разных статусов в периоде [base + 10ч, base + 20ч) и рядом с ним.
+     */
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        free = addItem("Дрель", true);
+        waiting = addItem("Дрель ударная", true);
+        approved = addItem("Дрель аккумуляторная", true);
+        rejected = addItem("Дрель-шуруповёрт", true);
+        touching = addItem("Дрель мощная", true);
+        addItem("Дрель сломанная", false);
+        addItem("Молоток", true);
+
+        book(waiting, 12, 14);
+        bookingService.approve(book(approved, 5, 11), true, owner.getId());
+        bookingService.approve(book(rejected, 15, 16), false, owner.getId());
+        book(touching, 20, 22);
+        book(touching, 5, 10);
+    }
+
+    @Test
+    void search_whenPeriodGiven_thenOnlyItemsWithoutActiveOverlappingBookings() throws Exception {
+        assertEquals(List.of(free, rejected, touching), search("дрель", 10, 20));
+    }
+
+    @Test
+    void search_whenPeriodFree_thenAllAvailableMatches() throws Exception {
+        assertEquals(List.of(free, waiting, approved, rejected, touching), search("дрель", 30, 40));
+    }
+
+    @Test
+    void search_whenItemHeldInPeriod_thenExcluded() throws Exception {
+        bookingHoldService.hold(free, booker.getId(), BookingHoldFromRequest.builder()
+                .start(base.plusHours(19))
+                .end(base.plusHours(25))
+                .build());
+
+        assertEquals(List.of(rejected, touching), search("дрель", 10, 20));
+        assertEquals(List.of(free, waiting, approved, rejected, touching), search("дрель", 30, 40));
+    }
+
+    @Test
+    void search_whenNoPeriod_thenPlainSearch() throws Exception {
+        assertEquals(5, ids(mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()).size());
+    }
+
+    @Test
+    void search_whenOnlyStartOrStartNotBeforeEnd_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("start", base.toString())
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("start", base.toString())
+                        .param("end", base.toString())
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> search(String text, int startHours, int endHours) throws Exception {
+        return ids(mockMvc.perform(get("/items/search")
+                        .param("text", text)
+                        .param("start", base.plusHours(startHours).toString())
+                        .param("end", base.plusHours(endHours).toString())
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    }
+
+    private List<Long> ids(String json) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(json)) {
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Long book(Long itemId, int startHours, int endHours) {
+        Booking booking = booking(itemId, base.plusHours(startHours), base.plusHours(endHours));
+        return bookingService.add(booking, booker.getId()).getId();
+    }
+
+    private Long addItem(String name, boolean available) {
+        Item item = item(name, "description");
+        item.setAvailable(available);
+        return itemService.add(owner.getId(), item).getId();
+    }
+}
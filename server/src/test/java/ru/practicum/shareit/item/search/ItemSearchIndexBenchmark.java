@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время поиска по {@link ItemSearchIndex} для страницы из 10 вещей. Названия и описания собираются
+ * из случайных слов словаря. Запуск: main() из IDE после mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"дрель", "отвертка", "молоток", "пила", "лобзик", "шуруповерт",
+            "перфоратор", "стремянка", "палатка", "велосипед", "самокат", "аккумуляторная", "ударная", "большой",
+            "новая", "мощная", "компактный", "садовая", "электрическая", "ручной", "набор", "бит", "сверл",
+            "рюкзак", "спальник", "котелок", "удочка", "лодка", "насос", "фонарь"};
+
+    private static final String[] QUERIES = {"дрель", "перфор", "садовая пила", "спальник", "ударная дрель",
+            "насос", "велосипед", "котел"};
+
+    @Param({"1000000"})
+    private int items;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.setMode(ItemSearchMode.INDEX);
+        itemSearchIndex = new ItemSearchIndex(null, properties);
+
+        Random random = new Random(42);
+        List<ItemSearchDocument> chunk = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            chunk.add(new ItemSearchDocument(id, words(random, 2), words(random, 6)));
+            if (chunk.size() == 100_000) {
+                itemSearchIndex.load(chunk);
+                chunk.clear();
+            }
+        }
+        itemSearchIndex.load(chunk);
+    }
+
+    @Benchmark
+    public List<Long> firstPage() {
+        return itemSearchIndex.search(QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)], 0, 10);
+    }
+
+    @Benchmark
+    public List<Long> tenthPage() {
+        return itemSearchIndex.search(QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)], 90, 10);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
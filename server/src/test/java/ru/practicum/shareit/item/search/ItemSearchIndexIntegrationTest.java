@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = "shareit.item.search.mode=index")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemSearchIndexIntegrationTest {
+
+    private static final List<String> QUERIES = List.of("дрел", "ДРЕЛЬ", "ая ", "отвертка", "молоток", "ток",
+            "сть", "аккумулятор", "мощная дрель", "нет такого");
+
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemSearchProperties itemSearchProperties;
+
+    User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+
+        add("Аккумуляторная дрель", "Мощная дрель с двумя аккумуляторами", true);
+        add("Отвертка", "Простая отвертка", true);
+        add("Дрель", "Ударная дрель, есть сверла", false);
+        add("Молоток", "Большой молоток", true);
+        add("Кувалда", "Тяжёлая, как молоток", true);
+    }
+
+    @Test
+    void search_whenItemsAddedAndUpdated_thenSameResultsAsLike() {
+        Long drillId = itemRepository.findAll().get(0).getId();
+        Item update = new Item();
+        update.setAvailable(false);
+        itemService.update(drillId, owner.getId(), update);
+
+        Item unavailableDrill = itemRepository.findAll().get(2);
+        update = new Item();
+        update.setAvailable(true);
+        update.setDescription("Ударная дрель, отдаётся с радостью");
+        itemService.update(unavailableDrill.getId(), owner.getId(), update);
+
+        assertSameResultsAsLike();
+    }
+
+    @Test
+    void warmUp_whenItemsInDatabase_thenSameResultsAsLike() {
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository, itemSearchProperties);
+        itemSearchIndex.warmUp();
+
+        for (String query : QUERIES) {
+            assertEquals(likeIds(query, 0, 10), itemSearchIndex.search(query, 0, 10), query);
+        }
+    }
+
+    private void assertSameResultsAsLike() {
+        for (String query : QUERIES) {
+            for (int from = 0; from < 4; from++) {
+                List<Long> found = itemService.search(query, from, 1).stream()
+                        .map(ItemResponse::getId)
+                        .collect(Collectors.toList());
+                assertEquals(likeIds(query, from, 1), found, query);
+            }
+        }
+    }
+
+    private List<Long> likeIds(String query, int from, int size) {
+        return itemRepository.findAvailableBySubstring(query, PageRequest.of(from / size, size)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void add(String name, String description, boolean available) {
+        Item item = item(name, description);
+        item.setAvailable(available);
+        itemService.add(owner.getId(), item);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.setMode(ItemSearchMode.INDEX);
+        itemSearchIndex = new ItemSearchIndex(null, properties);
+
+        itemSearchIndex.load(List.of(
+                new ItemSearchDocument(1L, "Аккумуляторная дрель", "Мощная дрель с двумя аккумуляторами"),
+                new ItemSearchDocument(2L, "Отвертка", "Простая отвертка"),
+                new ItemSearchDocument(3L, "Дрель", "Ударная"),
+                new ItemSearchDocument(4L, "Молоток", "Большой")));
+    }
+
+    @Test
+    void search_whenSubstringInNameOrDescription_thenIdsInAscendingOrder() {
+        assertEquals(List.of(1L, 3L), itemSearchIndex.search("ДРЕЛ", 0, 10));
+        assertEquals(List.of(1L, 2L), itemSearchIndex.search("ая ", 0, 10));
+    }
+
+    @Test
+    void search_whenTrigramsMatchButSubstringDoesNot_thenNotFound() {
+        assertEquals(List.of(), itemSearchIndex.search("дрель мощная", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("ельдр", 0, 10));
+    }
+
+    @Test
+    void search_whenMatchSpansNameAndDescription_thenNotFound() {
+        assertEquals(List.of(), itemSearchIndex.search("ьударн", 0, 10));
+    }
+
+    @Test
+    void search_whenOffsetAndLimit_thenPage() {
+        assertEquals(List.of(1L), itemSearchIndex.search("дре", 0, 1));
+        assertEquals(List.of(3L), itemSearchIndex.search("дре", 1, 1));
+        assertEquals(List.of(), itemSearchIndex.search("дре", 2, 1));
+    }
+
+    @Test
+    void put_whenUpdatedOrMadeUnavailable_thenIndexFollows() {
+        itemSearchIndex.put(item(4L, "Кувалда", "Большой", true));
+        assertEquals(List.of(), itemSearchIndex.search("молот", 0, 10));
+        assertEquals(List.of(4L), itemSearchIndex.search("кувал", 0, 10));
+
+        itemSearchIndex.put(item(3L, "Дрель", "Ударная", false));
+        assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 10));
+
+        itemSearchIndex.put(item(5L, "Дрель-шуруповерт", "Новая", true));
+        assertEquals(List.of(1L, 5L), itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    void canSearch_whenShortOrLikePattern_thenFalse() {
+        assertTrue(itemSearchIndex.canSearch("дре"));
+        assertFalse(itemSearchIndex.canSearch("др"));
+        assertFalse(itemSearchIndex.canSearch("др_ль"));
+        assertFalse(itemSearchIndex.canSearch("100%"));
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
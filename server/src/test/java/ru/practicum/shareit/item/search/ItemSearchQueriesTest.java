@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchQueriesTest {
+
+    @Test
+    void toPrefixTsQuery_whenSeveralWords_thenEveryWordIsPrefix() {
+        assertEquals("дрель:* & акк:*", ItemSearchQueries.toPrefixTsQuery("Дрель акк"));
+    }
+
+    @Test
+    void toPrefixTsQuery_whenTsQueryOperators_thenOperatorsAreDropped() {
+        assertEquals("дрель:* & 2000:*", ItemSearchQueries.toPrefixTsQuery("  дрель & !(2000):* | "));
+    }
+
+    @Test
+    void toPrefixTsQuery_whenNoWords_thenEmpty() {
+        assertEquals("", ItemSearchQueries.toPrefixTsQuery(" &!: "));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.TestEntities.booking;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemBookingSummaryIntegrationTest {
+
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("Joe"));
+        booker = userRepository.save(user("Bob"));
+
+        item = item("item name", "item description");
+        itemService.add(owner.getId(), item);
+    }
+
+    @Test
+    void approve_updatesLastAndNextBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = addBooking(now.minusDays(3), now.minusDays(2));
+        Booking future = addBooking(now.plusDays(2), now.plusDays(3));
+        addBooking(now.plusDays(5), now.plusDays(6));
+
+        bookingService.approve(past.getId(), true, owner.getId());
+        bookingService.approve(future.getId(), true, owner.getId());
+
+        ItemResponse itemResponse = itemService.getByItemId(item.getId(), owner.getId());
+
+        assertEquals(past.getId(), itemResponse.getLastBooking().getId());
+        assertEquals(booker.getId(), itemResponse.getLastBooking().getBookerId());
+        assertEquals(future.getId(), itemResponse.getNextBooking().getId());
+    }
+
+    @Test
+    void getByItemId_notOwner() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking future = addBooking(now.plusDays(2), now.plusDays(3));
+        bookingService.approve(future.getId(), true, owner.getId());
+
+        ItemResponse itemResponse = itemService.getByItemId(item.getId(), booker.getId());
+
+        assertNull(itemResponse.getLastBooking());
+        assertNull(itemResponse.getNextBooking());
+    }
+
+    @Test
+    void rollover_nextBookingStarted() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = addBooking(now.plusDays(2), now.plusDays(3));
+        bookingService.approve(booking.getId(), true, owner.getId());
+
+        Booking started = bookingRepository.findById(booking.getId()).orElseThrow();
+        started.setStart(now.minusHours(1));
+        bookingRepository.save(started);
+        ItemBookingSummary staleSummary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        staleSummary.setNextBookingStart(started.getStart());
+        itemBookingSummaryRepository.save(staleSummary);
+
+        ItemResponse itemResponse = itemService.getByItemId(item.getId(), owner.getId());
+        assertEquals(booking.getId(), itemResponse.getLastBooking().getId());
+        assertNull(itemResponse.getNextBooking());
+
+        itemBookingSummaryService.rollover();
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+    }
+
+    @Test
+    void getByItemId_missingSummaryRow() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = addBooking(now.minusDays(3), now.minusDays(2));
+        Booking future = addBooking(now.plusDays(2), now.plusDays(3));
+        bookingService.approve(past.getId(), true, owner.getId());
+        bookingService.approve(future.getId(), true, owner.getId());
+        itemBookingSummaryRepository.deleteById(item.getId());
+
+        ItemResponse itemResponse = itemService.getByItemId(item.getId(), owner.getId());
+        assertEquals(past.getId(), itemResponse.getLastBooking().getId());
+        assertEquals(future.getId(), itemResponse.getNextBooking().getId());
+
+        ItemResponse ownerItem = itemService.getAllByOwnerId(owner.getId(), 0, 10).iterator().next();
+        assertEquals(past.getId(), ownerItem.getLastBooking().getId());
+        assertEquals(future.getId(), ownerItem.getNextBooking().getId());
+        assertTrue(itemBookingSummaryRepository.findById(item.getId()).isEmpty());
+    }
+
+    @Test
+    void update_missingSummaryRow_createsRow() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking future = addBooking(now.plusDays(2), now.plusDays(3));
+        bookingService.approve(future.getId(), true, owner.getId());
+        itemBookingSummaryRepository.deleteById(item.getId());
+
+        Item patch = new Item();
+        patch.setName("new name");
+        ItemResponse itemResponse = itemService.update(item.getId(), owner.getId(), patch);
+
+        assertEquals(future.getId(), itemResponse.getNextBooking().getId());
+        assertEquals(future.getId(), itemBookingSummaryRepository.findById(item.getId()).orElseThrow()
+                .getNextBookingId());
+    }
+
+    private Booking addBooking(LocalDateTime start, LocalDateTime end) {
+        Booking booking = booking(item, start, end);
+        bookingService.add(booking, booker.getId());
+        return booking;
+    }
+}
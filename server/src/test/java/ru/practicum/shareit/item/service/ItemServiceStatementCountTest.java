@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestEntities.item;
+import static ru.practicum.shareit.TestEntities.user;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemServiceStatementCountTest {
+
+    private static final int ITEMS = 12;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("owner"));
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = item("item " + i, "description " + i);
+            itemService.add(owner.getId(), item);
+
+            for (int j = 0; j < 2; j++) {
+                Comment comment = new Comment();
+                comment.setText("comment " + j);
+                comment.setItem(item);
+                comment.setAuthor(userRepository.save(user("author" + i + "_" + j)));
+                comment.setCreated(LocalDateTime.now());
+                commentRepository.save(comment);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllByOwnerId_statementCountDoesNotDependOnPageSize() {
+        long smallPageStatements = countStatements(2);
+        long largePageStatements = countStatements(ITEMS);
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    private long countStatements(int size) {
+        statistics.clear();
+
+        List<ItemResponse> items = List.copyOf(itemService.getAllByOwnerId(owner.getId(), 0, size));
+
+        assertEquals(size, items.size());
+        items.forEach(item -> assertEquals(2, item.getComments().size()));
+        return statistics.getPrepareStatementCount();
+    }
+}
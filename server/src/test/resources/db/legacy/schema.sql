@@ -1,8 +1,4 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS comments CASCADE;
+-- schema.sql до перехода на Flyway: так выглядит существующая база, на которую впервые приходят миграции
 
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
@@ -41,4 +37,4 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id BIGINT REFERENCES items(id),
     author_id BIGINT REFERENCES users(id),
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);